@@ -1,13 +1,18 @@
 package com.example.crudapp;
 
+import com.example.crudapp.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Spring Boot application class for the CRUD application.
  * This application provides REST APIs for User management with H2 database integration.
  */
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(NativeHints.class)
 public class CrudappApplication {
 
     /**
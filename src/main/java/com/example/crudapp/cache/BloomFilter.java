@@ -0,0 +1,101 @@
+package com.example.crudapp.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over 64-bit hashes, safe for concurrent adds and lookups.
+ * A lookup that answers false is definite; one that answers true may be a false positive.
+ * The bit count and number of probes are chosen from the expected number of insertions
+ * and the target false-positive rate; inserting more than expected raises the rate.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int probes;
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive and the rate between 0 and 1");
+        }
+        long wordCount = (optimalBits(expectedInsertions, falsePositiveRate) + 63) / 64;
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large: " + expectedInsertions + " insertions");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bits = wordCount * 64;
+        this.probes = optimalProbes(expectedInsertions, bits);
+    }
+
+    /**
+     * @param hash a well-mixed 64-bit hash, from {@link #hash(long)} or {@link #hash(String)}
+     */
+    void put(long hash) {
+        long step = Long.rotateLeft(hash, 32) | 1;
+        long combined = hash;
+        for (int i = 0; i < probes; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bits;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+            combined += step;
+        }
+    }
+
+    /**
+     * @param hash a well-mixed 64-bit hash, from {@link #hash(long)} or {@link #hash(String)}
+     * @return false if the value was definitely never added, true if it may have been
+     */
+    boolean mightContain(long hash) {
+        long step = Long.rotateLeft(hash, 32) | 1;
+        long combined = hash;
+        for (int i = 0; i < probes; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bits;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += step;
+        }
+        return true;
+    }
+
+    long bitSize() {
+        return bits;
+    }
+
+    int probes() {
+        return probes;
+    }
+
+    static long optimalBits(long expectedInsertions, double falsePositiveRate) {
+        return Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+    }
+
+    static int optimalProbes(long expectedInsertions, long bits) {
+        return Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+    }
+
+    static long hash(long value) {
+        return mix(value);
+    }
+
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.crudapp.cache;
+
+/**
+ * Cache shared by every replica, sitting behind each replica's own in-memory cache.
+ * Values are opaque byte arrays grouped into regions, so an implementation can be any remote
+ * key-value store. Alongside storage it carries invalidation broadcasts, which tell the other
+ * replicas to drop their local copy of an entry that has changed.
+ * {@link EmbeddedClusterCache} is the bundled implementation; another can be provided as a bean.
+ */
+public interface ClusterCache {
+
+    /**
+     * @param region the cache region, such as {@code users}
+     * @param key the entry key within the region
+     * @return the stored value, or null if absent or expired
+     */
+    byte[] get(String region, String key);
+
+    /**
+     * Store a value, replacing any previous one.
+     *
+     * @param region the cache region
+     * @param key the entry key within the region
+     * @param value the value to store
+     * @param ttlMillis how long the entry may be served
+     */
+    void put(String region, String key, byte[] value, long ttlMillis);
+
+    /**
+     * Remove an entry from the shared cache.
+     *
+     * @param region the cache region
+     * @param key the entry key within the region
+     */
+    void evict(String region, String key);
+
+    /**
+     * Tell every other member of the cluster that an entry has changed.
+     * The sender's own listeners are not called.
+     *
+     * @param region the cache region
+     * @param key the entry key within the region
+     */
+    void broadcastInvalidation(String region, String key);
+
+    /**
+     * Register a listener for invalidations broadcast by other members.
+     *
+     * @param listener called once per invalidation
+     */
+    void addInvalidationListener(InvalidationListener listener);
+
+    /**
+     * Receives invalidations broadcast by other members of the cluster.
+     */
+    @FunctionalInterface
+    interface InvalidationListener {
+
+        void onInvalidation(String region, String key);
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.crudapp.cache;
+
+import com.example.crudapp.dto.WeatherCondition;
+import com.example.crudapp.dto.WeatherDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Columnar, primitive-array representation of a {@link WeatherDto} used as the cached value.
+ * Each forecast field is held in its own array, descriptions are stored as
+ * {@link WeatherCondition} ordinals and dates as day offsets from a base epoch day.
+ * Serializes to exactly the same JSON as {@link WeatherDto}, streamed straight from the arrays.
+ * The serialized UTF-8 JSON and its gzip-compressed variant are computed on first use and
+ * kept alongside the arrays, so cache hits can be written to the response without serializing.
+ */
+@JsonSerialize(using = CompactForecast.Serializer.class)
+public final class CompactForecast {
+
+    static final byte CUSTOM_DESCRIPTION = -1;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final String location;
+    private final String zipCode;
+    private final long baseEpochDay;
+    private final byte[] dayOffsets;
+    private final byte[] conditions;
+    private final String[] customDescriptions;
+    private final float[] temperatureHigh;
+    private final float[] temperatureLow;
+    private final byte[] humidity;
+    private final float[] windSpeed;
+
+    private volatile byte[] json;
+    private volatile byte[] gzippedJson;
+
+    CompactForecast(String location, String zipCode, long baseEpochDay, byte[] dayOffsets, byte[] conditions,
+                    String[] customDescriptions, float[] temperatureHigh, float[] temperatureLow,
+                    byte[] humidity, float[] windSpeed) {
+        this.location = location;
+        this.zipCode = zipCode;
+        this.baseEpochDay = baseEpochDay;
+        this.dayOffsets = dayOffsets;
+        this.conditions = conditions;
+        this.customDescriptions = customDescriptions;
+        this.temperatureHigh = temperatureHigh;
+        this.temperatureLow = temperatureLow;
+        this.humidity = humidity;
+        this.windSpeed = windSpeed;
+    }
+
+    /**
+     * Build the compact form of a forecast.
+     *
+     * @param forecast the forecast to encode
+     * @return the compact representation
+     */
+    public static CompactForecast from(WeatherDto forecast) {
+        List<WeatherDto.DailyForecast> days = forecast.forecast();
+        int size = days.size();
+        long baseEpochDay = size > 0 ? days.get(0).date().toEpochDay() : 0;
+        byte[] dayOffsets = new byte[size];
+        byte[] conditions = new byte[size];
+        String[] customDescriptions = null;
+        float[] temperatureHigh = new float[size];
+        float[] temperatureLow = new float[size];
+        byte[] humidity = new byte[size];
+        float[] windSpeed = new float[size];
+
+        for (int i = 0; i < size; i++) {
+            WeatherDto.DailyForecast day = days.get(i);
+            dayOffsets[i] = (byte) (day.date().toEpochDay() - baseEpochDay);
+            WeatherCondition condition = WeatherCondition.fromLabel(day.description());
+            if (condition != null) {
+                conditions[i] = (byte) condition.ordinal();
+            } else {
+                if (customDescriptions == null) {
+                    customDescriptions = new String[size];
+                }
+                conditions[i] = CUSTOM_DESCRIPTION;
+                customDescriptions[i] = day.description();
+            }
+            temperatureHigh[i] = (float) day.temperatureHigh();
+            temperatureLow[i] = (float) day.temperatureLow();
+            humidity[i] = (byte) day.humidity();
+            windSpeed[i] = (float) day.windSpeed();
+        }
+        return new CompactForecast(forecast.location(), forecast.zipCode(), baseEpochDay, dayOffsets,
+                conditions, customDescriptions, temperatureHigh, temperatureLow, humidity, windSpeed);
+    }
+
+    /**
+     * Materialize the public {@link WeatherDto} for callers that need the object form.
+     *
+     * @return a new WeatherDto with the same content
+     */
+    public WeatherDto toDto() {
+        List<WeatherDto.DailyForecast> days = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            days.add(getDay(i));
+        }
+        return new WeatherDto(location, zipCode, days);
+    }
+
+    /**
+     * Materialize a single day of the forecast.
+     *
+     * @param index the zero-based day index
+     * @return the forecast for that day
+     */
+    public WeatherDto.DailyForecast getDay(int index) {
+        return new WeatherDto.DailyForecast(getDate(index), getDescription(index),
+                widen(temperatureHigh[index]), widen(temperatureLow[index]),
+                humidity[index], widen(windSpeed[index]));
+    }
+
+    /**
+     * Get the serialized UTF-8 JSON of this forecast, serializing it on first use.
+     *
+     * @return the JSON bytes; callers must not modify the returned array
+     */
+    public byte[] getJson() {
+        byte[] bytes = json;
+        if (bytes == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+            try (JsonGenerator gen = JSON_FACTORY.createGenerator(out)) {
+                writeJson(gen);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to serialize forecast for zip code " + zipCode, e);
+            }
+            bytes = out.toByteArray();
+            json = bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * Get the gzip-compressed JSON of this forecast, compressing it on first use.
+     *
+     * @return the gzip bytes; callers must not modify the returned array
+     */
+    public byte[] getGzippedJson() {
+        byte[] bytes = gzippedJson;
+        if (bytes == null) {
+            byte[] source = getJson();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(source.length / 2);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(source);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to compress forecast for zip code " + zipCode, e);
+            }
+            bytes = out.toByteArray();
+            gzippedJson = bytes;
+        }
+        return bytes;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getZipCode() {
+        return zipCode;
+    }
+
+    public int size() {
+        return dayOffsets.length;
+    }
+
+    LocalDate getDate(int index) {
+        return LocalDate.ofEpochDay(getEpochDay(index));
+    }
+
+    long getEpochDay(int index) {
+        return baseEpochDay + dayOffsets[index];
+    }
+
+    byte getCondition(int index) {
+        return conditions[index];
+    }
+
+    String getDescription(int index) {
+        byte condition = conditions[index];
+        return condition == CUSTOM_DESCRIPTION
+                ? customDescriptions[index]
+                : WeatherCondition.fromOrdinal(condition).getLabel();
+    }
+
+    float getTemperatureHigh(int index) {
+        return temperatureHigh[index];
+    }
+
+    float getTemperatureLow(int index) {
+        return temperatureLow[index];
+    }
+
+    int getHumidity(int index) {
+        return humidity[index];
+    }
+
+    float getWindSpeed(int index) {
+        return windSpeed[index];
+    }
+
+    private void writeJson(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("location", location);
+        gen.writeStringField("zipCode", zipCode);
+        gen.writeArrayFieldStart("forecast");
+        for (int i = 0; i < size(); i++) {
+            gen.writeStartObject();
+            gen.writeStringField("date", getDate(i).toString());
+            gen.writeStringField("description", getDescription(i));
+            gen.writeFieldName("temperatureHigh");
+            gen.writeNumber(temperatureHigh[i]);
+            gen.writeFieldName("temperatureLow");
+            gen.writeNumber(temperatureLow[i]);
+            gen.writeNumberField("humidity", humidity[i]);
+            gen.writeFieldName("windSpeed");
+            gen.writeNumber(windSpeed[i]);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    /**
+     * Widen a float to the double closest to its shortest decimal form,
+     * so materialized values print as {@code 76.80146} rather than {@code 76.80146026611328}.
+     */
+    private static double widen(float value) {
+        return Double.parseDouble(Float.toString(value));
+    }
+
+    /**
+     * Streams the {@link WeatherDto} JSON contract directly from the compact arrays.
+     */
+    public static class Serializer extends StdSerializer<CompactForecast> {
+
+        public Serializer() {
+            super(CompactForecast.class);
+        }
+
+        @Override
+        public void serialize(CompactForecast value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            value.writeJson(gen);
+        }
+    }
+}
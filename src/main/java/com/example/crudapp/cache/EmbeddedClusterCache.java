@@ -0,0 +1,145 @@
+package com.example.crudapp.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link ClusterCache} whose members live in the same JVM.
+ * Every application context that joins the same {@code cache.cluster.name} shares one bounded, expiring
+ * store and receives the others' invalidations synchronously, so tests and local runs can start several
+ * replicas in one process without a network cache. Values are shared by reference and must not be
+ * modified after they are stored. The cluster's data is discarded when its last member leaves.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.cluster.backend", havingValue = "embedded")
+public class EmbeddedClusterCache implements ClusterCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedClusterCache.class);
+
+    private static final Map<String, Cluster> CLUSTERS = new ConcurrentHashMap<>();
+
+    private final String clusterName;
+    private final int maxEntries;
+    private final Cluster cluster;
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public EmbeddedClusterCache(@Value("${cache.cluster.name:crudapp}") String clusterName,
+                                @Value("${cache.cluster.max-entries:100000}") int maxEntries) {
+        this.clusterName = clusterName;
+        this.maxEntries = maxEntries;
+        this.cluster = CLUSTERS.compute(clusterName, (name, existing) -> {
+            Cluster joined = existing != null ? existing : new Cluster();
+            joined.members.add(this);
+            return joined;
+        });
+        logger.info("Joined embedded cache cluster '{}' with {} members", clusterName, cluster.members.size());
+    }
+
+    @Override
+    public byte[] get(String region, String key) {
+        String entryKey = entryKey(region, key);
+        Entry entry = cluster.entries.get(entryKey);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            cluster.entries.remove(entryKey, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void put(String region, String key, byte[] value, long ttlMillis) {
+        String entryKey = entryKey(region, key);
+        if (cluster.entries.size() >= maxEntries && !cluster.entries.containsKey(entryKey)) {
+            evictExpired();
+            if (cluster.entries.size() >= maxEntries) {
+                Iterator<String> keys = cluster.entries.keySet().iterator();
+                if (keys.hasNext()) {
+                    cluster.entries.remove(keys.next());
+                }
+            }
+        }
+        cluster.entries.put(entryKey, new Entry(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    @Override
+    public void evict(String region, String key) {
+        cluster.entries.remove(entryKey(region, key));
+    }
+
+    @Override
+    public void broadcastInvalidation(String region, String key) {
+        for (EmbeddedClusterCache member : cluster.members) {
+            if (member != this) {
+                member.deliver(region, key);
+            }
+        }
+    }
+
+    @Override
+    public void addInvalidationListener(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove all expired entries from the shared store.
+     */
+    @Scheduled(fixedDelayString = "${cache.cluster.eviction-interval:PT1M}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        cluster.entries.values().removeIf(entry -> entry.expiresAtMillis <= now);
+    }
+
+    /**
+     * Leave the cluster, discarding its data if this was the last member.
+     */
+    @PreDestroy
+    public void leave() {
+        CLUSTERS.computeIfPresent(clusterName, (name, existing) -> {
+            existing.members.remove(this);
+            return existing.members.isEmpty() ? null : existing;
+        });
+    }
+
+    public int size() {
+        return cluster.entries.size();
+    }
+
+    private void deliver(String region, String key) {
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidation(region, key);
+            } catch (RuntimeException e) {
+                logger.warn("Invalidation listener failed for {} {}", region, key, e);
+            }
+        }
+    }
+
+    private static String entryKey(String region, String key) {
+        return region + ':' + key;
+    }
+
+    private static final class Cluster {
+
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final List<EmbeddedClusterCache> members = new CopyOnWriteArrayList<>();
+    }
+
+    private record Entry(byte[] value, long expiresAtMillis) {
+    }
+}
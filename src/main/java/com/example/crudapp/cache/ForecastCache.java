@@ -0,0 +1,219 @@
+package com.example.crudapp.cache;
+
+import com.example.crudapp.dto.WeatherDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, time-to-live cache of weather forecasts keyed by zip code.
+ * Forecasts are held in their {@link CompactForecast} form to keep the per-entry footprint small.
+ * When a {@link ForecastStore} is configured, every entry is also written through to
+ * disk and the cache is rehydrated from it on startup. When a {@link ClusterCache} is configured,
+ * it serves as a second tier shared by all replicas: entries are written to it, and a local miss
+ * is filled from it before the forecast is fetched again. A forecast filled from the cluster that is newer
+ * than the local copy it replaces is announced with a {@link ForecastRefreshedEvent}, as another replica
+ * fetched it, so streams on this replica see the refresh too.
+ * Fallback forecasts, served while the provider is failing, are cached for a much shorter time
+ * so real data replaces them soon after the provider recovers.
+ */
+@Component
+public class ForecastCache implements MeterBinder {
+
+    static final String CLUSTER_REGION = "forecasts";
+
+    private static final Logger logger = LoggerFactory.getLogger(ForecastCache.class);
+
+    private final Map<String, CachedForecast> entries = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration fallbackTtl;
+    private final int maxEntries;
+    private final ForecastStore store;
+    private final ClusterCache cluster;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicLong localHits = new AtomicLong();
+    private final AtomicLong clusterHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public ForecastCache(@Value("${weather.cache.ttl:PT30M}") Duration ttl,
+                         @Value("${weather.cache.fallback-ttl:PT1M}") Duration fallbackTtl,
+                         @Value("${weather.cache.max-entries:50000}") int maxEntries,
+                         @Nullable ForecastStore store, @Nullable ClusterCache cluster,
+                         ApplicationEventPublisher eventPublisher) {
+        this.ttl = ttl;
+        this.fallbackTtl = fallbackTtl;
+        this.maxEntries = maxEntries;
+        this.store = store;
+        this.cluster = cluster;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Rehydrate the cache from the on-disk store, if one is configured.
+     */
+    @PostConstruct
+    public void rehydrate() {
+        if (store == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        store.load(System.currentTimeMillis()).forEach((zipCode, stored) ->
+                entries.put(zipCode, new CachedForecast(stored.getForecast(), stored.getExpiresAtMillis())));
+        logger.info("Rehydrated {} forecasts from disk in {} ms",
+                entries.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Look up a cached forecast.
+     *
+     * @param zipCode the zip code to look up
+     * @return the cached forecast, or null if absent or expired
+     */
+    public CompactForecast get(String zipCode) {
+        long now = System.currentTimeMillis();
+        CachedForecast cached = entries.get(zipCode);
+        if (cached != null && !cached.isExpired(now)) {
+            localHits.incrementAndGet();
+            return cached.getForecast();
+        }
+        if (cached != null) {
+            entries.remove(zipCode, cached);
+        }
+        CompactForecast shared = getFromCluster(zipCode, now, cached);
+        (shared != null ? clusterHits : misses).incrementAndGet();
+        return shared;
+    }
+
+    /**
+     * Cache a forecast, writing it through to the on-disk store if one is configured.
+     *
+     * @param zipCode the zip code the forecast belongs to
+     * @param forecast the forecast to cache
+     * @return the compact form that was cached
+     */
+    public CompactForecast put(String zipCode, WeatherDto forecast) {
+        return put(zipCode, forecast, ttl, true);
+    }
+
+    /**
+     * Cache a fallback forecast generated because the provider failed, for the fallback time-to-live.
+     * It is kept in memory and the cluster tier only, so it is never rehydrated from disk.
+     *
+     * @param zipCode the zip code the forecast belongs to
+     * @param forecast the fallback forecast to cache
+     * @return the compact form that was cached
+     */
+    public CompactForecast putFallback(String zipCode, WeatherDto forecast) {
+        return put(zipCode, forecast, fallbackTtl, false);
+    }
+
+    private CompactForecast put(String zipCode, WeatherDto forecast, Duration ttl, boolean persist) {
+        CompactForecast compact = CompactForecast.from(forecast);
+        long expiresAtMillis = System.currentTimeMillis() + ttl.toMillis();
+        putLocal(zipCode, new CachedForecast(compact, expiresAtMillis));
+        if (store != null && persist) {
+            store.append(zipCode, compact, expiresAtMillis);
+        }
+        if (cluster != null) {
+            cluster.put(CLUSTER_REGION, zipCode, ForecastStore.encode(zipCode, compact, expiresAtMillis),
+                    ttl.toMillis());
+        }
+        return compact;
+    }
+
+    /**
+     * Remove all expired entries from memory.
+     */
+    @Scheduled(fixedDelayString = "${weather.cache.eviction-interval:PT1M}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(cached -> cached.isExpired(now));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.tier.gets", localHits, AtomicLong::get)
+                .description("Cache lookups by the tier that answered them")
+                .tags("cache", "forecasts", "result", "local")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", clusterHits, AtomicLong::get)
+                .description("Cache lookups by the tier that answered them")
+                .tags("cache", "forecasts", "result", "cluster")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", misses, AtomicLong::get)
+                .description("Cache lookups by the tier that answered them")
+                .tags("cache", "forecasts", "result", "miss")
+                .register(registry);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private CompactForecast getFromCluster(String zipCode, long now, @Nullable CachedForecast previous) {
+        if (cluster == null) {
+            return null;
+        }
+        byte[] payload = cluster.get(CLUSTER_REGION, zipCode);
+        if (payload == null) {
+            return null;
+        }
+        ForecastStore.StoredForecast shared = ForecastStore.decode(payload);
+        if (shared.getExpiresAtMillis() <= now) {
+            return null;
+        }
+        putLocal(zipCode, new CachedForecast(shared.getForecast(), shared.getExpiresAtMillis()));
+        if (previous == null || shared.getExpiresAtMillis() > previous.expiresAtMillis) {
+            eventPublisher.publishEvent(new ForecastRefreshedEvent(zipCode, shared.getForecast()));
+        }
+        return shared.getForecast();
+    }
+
+    private void putLocal(String zipCode, CachedForecast cached) {
+        if (entries.size() >= maxEntries && !entries.containsKey(zipCode)) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                Iterator<String> keys = entries.keySet().iterator();
+                if (keys.hasNext()) {
+                    entries.remove(keys.next());
+                }
+            }
+        }
+        entries.put(zipCode, cached);
+    }
+
+    private static final class CachedForecast {
+
+        private final CompactForecast forecast;
+        private final long expiresAtMillis;
+
+        CachedForecast(CompactForecast forecast, long expiresAtMillis) {
+            this.forecast = forecast;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        CompactForecast getForecast() {
+            return forecast;
+        }
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
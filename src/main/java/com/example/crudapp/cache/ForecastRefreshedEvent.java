@@ -0,0 +1,10 @@
+package com.example.crudapp.cache;
+
+/**
+ * Published when a freshly fetched forecast replaces the cached one for a zip code.
+ *
+ * @param zipCode the zip code the forecast belongs to
+ * @param forecast the forecast now in the cache
+ */
+public record ForecastRefreshedEvent(String zipCode, CompactForecast forecast) {
+}
@@ -0,0 +1,352 @@
+package com.example.crudapp.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped on-disk store for cached weather forecasts.
+ * Every cached {@link CompactForecast} is appended as a length-prefixed, checksummed record so the
+ * in-memory forecast cache can be rehydrated after a restart. Superseded and expired
+ * records are dropped by a periodic background compaction.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.cache.store.enabled", havingValue = "true")
+public class ForecastStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForecastStore.class);
+
+    private static final int MAGIC = 0x46435354;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_OVERHEAD = 8;
+    private static final byte CUSTOM_DESCRIPTION = -1;
+
+    private final Path path;
+    private final int capacity;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+
+    public ForecastStore(@Value("${weather.cache.store.path:data/forecast-store.bin}") String path,
+                         @Value("${weather.cache.store.capacity:16777216}") int capacity) {
+        this.path = Paths.get(path);
+        this.capacity = capacity;
+        open();
+    }
+
+    /**
+     * Append a forecast to the store.
+     *
+     * @param zipCode the cache key
+     * @param forecast the forecast to persist
+     * @param expiresAtMillis the epoch millisecond after which the entry is stale
+     */
+    public synchronized void append(String zipCode, CompactForecast forecast, long expiresAtMillis) {
+        byte[] payload = encode(zipCode, forecast, expiresAtMillis);
+        if (writePosition + RECORD_OVERHEAD + payload.length > buffer.capacity()) {
+            compact();
+            if (writePosition + RECORD_OVERHEAD + payload.length > buffer.capacity()) {
+                logger.warn("Forecast store is full, skipping persistence for zip code: {}", zipCode);
+                return;
+            }
+        }
+        writeRecord(buffer, writePosition, payload);
+        writePosition += RECORD_OVERHEAD + payload.length;
+    }
+
+    /**
+     * Read the latest unexpired forecast for every zip code in the store.
+     *
+     * @param nowMillis the current epoch millisecond used to skip expired records
+     * @return live entries keyed by zip code, in first-seen order
+     */
+    public synchronized Map<String, StoredForecast> load(long nowMillis) {
+        Map<String, StoredForecast> entries = new LinkedHashMap<>();
+        for (byte[] payload : readPayloads()) {
+            StoredForecast entry = decode(payload);
+            if (entry.getExpiresAtMillis() > nowMillis) {
+                entries.put(entry.getZipCode(), entry);
+            } else {
+                entries.remove(entry.getZipCode());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Rewrite the store keeping only the latest unexpired record per zip code.
+     * The compacted file is written next to the live one and atomically moved into place.
+     */
+    @Scheduled(fixedDelayString = "${weather.cache.store.compaction-interval:PT10M}",
+               initialDelayString = "${weather.cache.store.compaction-interval:PT10M}")
+    public synchronized void compact() {
+        long now = System.currentTimeMillis();
+        Map<String, byte[]> live = new LinkedHashMap<>();
+        List<byte[]> payloads = readPayloads();
+        for (byte[] payload : payloads) {
+            ByteBuffer in = ByteBuffer.wrap(payload);
+            long expiresAtMillis = in.getLong();
+            String zipCode = readString(in);
+            if (expiresAtMillis > now) {
+                live.put(zipCode, payload);
+            } else {
+                live.remove(zipCode);
+            }
+        }
+
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = target.map(FileChannel.MapMode.READ_WRITE, 0, buffer.capacity());
+            writeHeader(out);
+            int position = HEADER_SIZE;
+            for (byte[] payload : live.values()) {
+                writeRecord(out, position, payload);
+                position += RECORD_OVERHEAD + payload.length;
+            }
+            out.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact forecast store " + path, e);
+        }
+
+        close();
+        try {
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replace forecast store " + path, e);
+        } finally {
+            open();
+        }
+        logger.info("Compacted forecast store from {} to {} records", payloads.size(), live.size());
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close forecast store {}", path, e);
+        }
+        channel = null;
+        buffer = null;
+    }
+
+    private void open() {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = Math.max(channel.size(), capacity);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open forecast store " + path, e);
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            logger.info("Initializing empty forecast store at {}", path);
+            buffer.put(HEADER_SIZE, new byte[Math.min(RECORD_OVERHEAD, buffer.capacity() - HEADER_SIZE)]);
+            writeHeader(buffer);
+            writePosition = HEADER_SIZE;
+            return;
+        }
+        writePosition = HEADER_SIZE;
+        for (byte[] payload : readPayloads()) {
+            writePosition += RECORD_OVERHEAD + payload.length;
+        }
+    }
+
+    private List<byte[]> readPayloads() {
+        List<byte[]> payloads = new ArrayList<>();
+        CRC32 crc = new CRC32();
+        int position = HEADER_SIZE;
+        while (position + RECORD_OVERHEAD <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_OVERHEAD + length > buffer.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + 4, payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + 4 + length)) {
+                logger.warn("Discarding torn forecast store tail at offset {}", position);
+                break;
+            }
+            payloads.add(payload);
+            position += RECORD_OVERHEAD + length;
+        }
+        return payloads;
+    }
+
+    private static void writeHeader(ByteBuffer target) {
+        target.putInt(0, MAGIC);
+        target.putInt(4, VERSION);
+    }
+
+    private static void writeRecord(ByteBuffer target, int position, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        target.put(position + 4, payload);
+        target.putInt(position + 4 + payload.length, (int) crc.getValue());
+        if (position + 2 * RECORD_OVERHEAD + payload.length <= target.capacity()) {
+            target.putInt(position + RECORD_OVERHEAD + payload.length, 0);
+        }
+        target.putInt(position, payload.length);
+    }
+
+    /**
+     * Encode one record payload. {@link ForecastCache} uses the same format for entries it shares
+     * through a {@link ClusterCache}.
+     */
+    static byte[] encode(String zipCode, CompactForecast forecast, long expiresAtMillis) {
+        int size = 9 + maxStringSize(zipCode) + maxStringSize(forecast.getZipCode())
+                + maxStringSize(forecast.getLocation());
+        for (int i = 0; i < forecast.size(); i++) {
+            size += 18;
+            if (forecast.getCondition(i) == CompactForecast.CUSTOM_DESCRIPTION) {
+                size += maxStringSize(forecast.getDescription(i));
+            }
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putLong(expiresAtMillis);
+        writeString(out, zipCode);
+        writeString(out, forecast.getZipCode());
+        writeString(out, forecast.getLocation());
+        out.put((byte) forecast.size());
+        for (int i = 0; i < forecast.size(); i++) {
+            out.putInt((int) forecast.getEpochDay(i));
+            byte condition = forecast.getCondition(i);
+            out.put(condition);
+            if (condition == CompactForecast.CUSTOM_DESCRIPTION) {
+                writeString(out, forecast.getDescription(i));
+            }
+            out.putFloat(forecast.getTemperatureHigh(i));
+            out.putFloat(forecast.getTemperatureLow(i));
+            out.put((byte) forecast.getHumidity(i));
+            out.putFloat(forecast.getWindSpeed(i));
+        }
+        byte[] payload = new byte[out.position()];
+        out.flip().get(payload);
+        return payload;
+    }
+
+    static StoredForecast decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        long expiresAtMillis = in.getLong();
+        String key = readString(in);
+        String zipCode = readString(in);
+        String location = readString(in);
+        int dayCount = in.get();
+        long baseEpochDay = 0;
+        byte[] dayOffsets = new byte[dayCount];
+        byte[] conditions = new byte[dayCount];
+        String[] customDescriptions = null;
+        float[] temperatureHigh = new float[dayCount];
+        float[] temperatureLow = new float[dayCount];
+        byte[] humidity = new byte[dayCount];
+        float[] windSpeed = new float[dayCount];
+        for (int i = 0; i < dayCount; i++) {
+            int epochDay = in.getInt();
+            if (i == 0) {
+                baseEpochDay = epochDay;
+            }
+            dayOffsets[i] = (byte) (epochDay - baseEpochDay);
+            conditions[i] = in.get();
+            if (conditions[i] == CompactForecast.CUSTOM_DESCRIPTION) {
+                if (customDescriptions == null) {
+                    customDescriptions = new String[dayCount];
+                }
+                customDescriptions[i] = readString(in);
+            }
+            temperatureHigh[i] = in.getFloat();
+            temperatureLow[i] = in.getFloat();
+            humidity[i] = in.get();
+            windSpeed[i] = in.getFloat();
+        }
+        CompactForecast forecast = new CompactForecast(location, zipCode, baseEpochDay, dayOffsets, conditions,
+                customDescriptions, temperatureHigh, temperatureLow, humidity, windSpeed);
+        return new StoredForecast(key, forecast, expiresAtMillis);
+    }
+
+    private static int maxStringSize(String value) {
+        return 2 + (value == null ? 0 : value.length() * 3);
+    }
+
+    private static void writeString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A forecast read back from the store together with its cache key and expiry.
+     */
+    public static final class StoredForecast {
+
+        private final String zipCode;
+        private final CompactForecast forecast;
+        private final long expiresAtMillis;
+
+        StoredForecast(String zipCode, CompactForecast forecast, long expiresAtMillis) {
+            this.zipCode = zipCode;
+            this.forecast = forecast;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public String getZipCode() {
+            return zipCode;
+        }
+
+        public CompactForecast getForecast() {
+            return forecast;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+    }
+}
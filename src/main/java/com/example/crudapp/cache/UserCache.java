@@ -0,0 +1,247 @@
+package com.example.crudapp.cache;
+
+import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.entity.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Near cache of users by ID in front of a {@link ClusterCache} shared by all replicas.
+ * Lookups are answered from this replica's bounded, time-to-live map, then from the cluster cache, and
+ * only then from the database. When a user changes, the entry is dropped here and in the cluster cache
+ * once the transaction commits, and the other replicas are told to drop their copies, along with
+ * their Hibernate second-level cache entry and cached email lookups.
+ * Without a {@link ClusterCache} the near cache is disabled and every lookup misses.
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    static final String CLUSTER_REGION = "users";
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCache.class);
+
+    private final Map<Long, CachedUser> entries = new ConcurrentHashMap<>();
+    private final ClusterCache cluster;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong localHits = new AtomicLong();
+    private final AtomicLong clusterHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public UserCache(@Nullable ClusterCache cluster, EntityManagerFactory entityManagerFactory,
+                     @Value("${cache.cluster.users.ttl:PT10M}") Duration ttl,
+                     @Value("${cache.cluster.users.max-entries:50000}") int maxEntries) {
+        this.cluster = cluster;
+        this.entityManagerFactory = entityManagerFactory;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        if (cluster != null) {
+            cluster.addInvalidationListener(this::onInvalidation);
+        }
+    }
+
+    /**
+     * Look up a user.
+     *
+     * @param id the user ID
+     * @return the cached user, or null if it is not cached here or in the cluster
+     */
+    public UserDto get(Long id) {
+        if (cluster == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        CachedUser cached = entries.get(id);
+        if (cached != null && cached.isExpired(now)) {
+            entries.remove(id, cached);
+            cached = null;
+        }
+        if (cached != null) {
+            localHits.incrementAndGet();
+            return cached.user();
+        }
+        byte[] payload = cluster.get(CLUSTER_REGION, id.toString());
+        if (payload == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        clusterHits.incrementAndGet();
+        UserDto shared = decode(payload);
+        putLocal(id, new CachedUser(shared, now + ttl.toMillis()));
+        return shared;
+    }
+
+    /**
+     * Take a stamp before loading a user from the database, to pass to {@link #put}.
+     *
+     * @return the number of invalidations seen so far
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Cache a user loaded from the database. The user is not cached if any user was invalidated since
+     * the stamp was taken, because the loaded copy may predate that change. The stamp is checked again
+     * after the cluster write, and the copy is dropped if an invalidation arrived in between.
+     *
+     * @param user the user, with its ID
+     * @param stamp the value of {@link #stamp()} taken before the user was loaded
+     */
+    public void put(UserDto user, long stamp) {
+        if (cluster == null || invalidations.get() != stamp) {
+            return;
+        }
+        CachedUser cached = new CachedUser(user, System.currentTimeMillis() + ttl.toMillis());
+        putLocal(user.id(), cached);
+        cluster.put(CLUSTER_REGION, user.id().toString(), encode(user), ttl.toMillis());
+        if (invalidations.get() != stamp) {
+            entries.remove(user.id(), cached);
+            cluster.evict(CLUSTER_REGION, user.id().toString());
+        }
+    }
+
+    /**
+     * Drop a user that is being created, updated or deleted. The local copy is dropped at once; the
+     * cluster copy is dropped and the other replicas are told once the current transaction commits.
+     *
+     * @param id the user ID
+     */
+    public void invalidate(Long id) {
+        if (cluster == null) {
+            return;
+        }
+        entries.remove(id);
+        invalidations.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishInvalidation(id);
+                }
+            });
+        } else {
+            publishInvalidation(id);
+        }
+    }
+
+    /**
+     * Remove all expired entries from memory.
+     */
+    @Scheduled(fixedDelayString = "${cache.cluster.eviction-interval:PT1M}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(cached -> cached.isExpired(now));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.tier.gets", localHits, AtomicLong::get)
+                .description("Cache lookups by the tier that answered them")
+                .tags("cache", "users", "result", "local")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", clusterHits, AtomicLong::get)
+                .description("Cache lookups by the tier that answered them")
+                .tags("cache", "users", "result", "cluster")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", misses, AtomicLong::get)
+                .description("Cache lookups by the tier that answered them")
+                .tags("cache", "users", "result", "miss")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return cluster != null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    void onInvalidation(String region, String key) {
+        if (!CLUSTER_REGION.equals(region)) {
+            return;
+        }
+        Long id = Long.valueOf(key);
+        entries.remove(id);
+        invalidations.incrementAndGet();
+        // A put on this replica may have written an old copy after the sender's eviction but before this
+        // broadcast moved the stamp, so the cluster copy is dropped again
+        cluster.evict(CLUSTER_REGION, key);
+        entityManagerFactory.getCache().evict(User.class, id);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+        logger.debug("Dropped user {} changed on another replica", id);
+    }
+
+    private void publishInvalidation(Long id) {
+        entries.remove(id);
+        invalidations.incrementAndGet();
+        cluster.evict(CLUSTER_REGION, id.toString());
+        cluster.broadcastInvalidation(CLUSTER_REGION, id.toString());
+    }
+
+    private void putLocal(Long id, CachedUser cached) {
+        if (entries.size() >= maxEntries && !entries.containsKey(id)) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                Iterator<Long> keys = entries.keySet().iterator();
+                if (keys.hasNext()) {
+                    entries.remove(keys.next());
+                }
+            }
+        }
+        entries.put(id, cached);
+    }
+
+    static byte[] encode(UserDto user) {
+        byte[] name = user.name().getBytes(StandardCharsets.UTF_8);
+        byte[] email = user.email().getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(20 + name.length + email.length)
+                .putLong(user.id())
+                .putInt(user.age())
+                .putInt(name.length).put(name)
+                .putInt(email.length).put(email)
+                .array();
+    }
+
+    static UserDto decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        long id = in.getLong();
+        int age = in.getInt();
+        byte[] name = new byte[in.getInt()];
+        in.get(name);
+        byte[] email = new byte[in.getInt()];
+        in.get(email);
+        return new UserDto(id, new String(name, StandardCharsets.UTF_8), new String(email, StandardCharsets.UTF_8), age);
+    }
+
+    private record CachedUser(UserDto user, long expiresAtMillis) {
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.crudapp.cache;
+
+import com.example.crudapp.repository.UserKey;
+import com.example.crudapp.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Negative cache of user lookups, answering "definitely absent" without a database query.
+ * Bloom filters over the IDs and emails of all users are built by scanning the users table at startup
+ * and rebuilt periodically, and every user created or updated through {@code UserService} is added to them.
+ * IDs the filters may hold but the database does not, such as deleted users and false positives, are
+ * remembered in a bounded, short-lived known-missing set after a database miss; creating the user removes them.
+ * When a {@link ClusterCache} is configured, additions are broadcast so every replica's filters stay complete.
+ * Without one, a user created on another replica is only seen here after the next rebuild, so IDs are never
+ * answered as missing and only the email filter is used: a wrongly free email still meets the database's
+ * unique constraint, while a wrongly missing ID would be a 404 for a user that exists.
+ * Until the first scan completes, every lookup goes to the database.
+ */
+@Component
+public class UserNegativeCache implements MeterBinder {
+
+    static final String CLUSTER_REGION = "user-keys";
+
+    private static final Logger logger = LoggerFactory.getLogger(UserNegativeCache.class);
+
+    private final Map<Long, Long> missing = new ConcurrentHashMap<>();
+    private final ClusterCache cluster;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final Duration missingTtl;
+    private final int missingMaxEntries;
+    private final AtomicLong additions = new AtomicLong();
+    private final AtomicLong missingIdHits = new AtomicLong();
+    private final AtomicLong freeEmailHits = new AtomicLong();
+    private final AtomicLong emailFalsePositives = new AtomicLong();
+    private volatile Filters filters;
+    private volatile Filters building;
+
+    @Autowired
+    public UserNegativeCache(@Nullable ClusterCache cluster, UserRepository userRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${cache.negative.enabled:true}") boolean enabled,
+                             @Value("${cache.negative.expected-users:1000000}") long expectedUsers,
+                             @Value("${cache.negative.false-positive-rate:0.01}") double falsePositiveRate,
+                             @Value("${cache.negative.missing.ttl:PT30S}") Duration missingTtl,
+                             @Value("${cache.negative.missing.max-entries:10000}") int missingMaxEntries) {
+        this.cluster = cluster;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.missingTtl = missingTtl;
+        this.missingMaxEntries = missingMaxEntries;
+        if (cluster != null && enabled) {
+            cluster.addInvalidationListener(this::onInvalidation);
+        }
+    }
+
+    /**
+     * @param id the user ID
+     * @return true if no user has this ID, false if one may or if no cluster cache tells this replica
+     *         about users created elsewhere
+     */
+    public boolean isKnownMissing(Long id) {
+        if (!enabled || cluster == null) {
+            return false;
+        }
+        Filters current = filters;
+        if (current != null && !current.ids().mightContain(BloomFilter.hash(id))) {
+            missingIdHits.incrementAndGet();
+            return true;
+        }
+        Long expiresAtMillis = missing.get(id);
+        if (expiresAtMillis == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() >= expiresAtMillis) {
+            missing.remove(id, expiresAtMillis);
+            return false;
+        }
+        missingIdHits.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * @param email the email address
+     * @return true if no user has this email, false if one may
+     */
+    public boolean isEmailFree(String email) {
+        Filters current = filters;
+        if (!enabled || current == null || current.emails().mightContain(BloomFilter.hash(email))) {
+            return false;
+        }
+        freeEmailHits.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Count an email the filter could not rule out but the database did not hold, so the observed
+     * false-positive rate can be compared with the configured one.
+     */
+    public void recordEmailFalsePositive() {
+        if (filters != null) {
+            emailFalsePositives.incrementAndGet();
+        }
+    }
+
+    /**
+     * Take a stamp before looking a user up in the database, to pass to {@link #recordMissing}.
+     *
+     * @return the number of users added so far
+     */
+    public long stamp() {
+        return additions.get();
+    }
+
+    /**
+     * Remember an ID the database did not hold. It is not remembered if any user was added since the
+     * stamp was taken, because that user may be the one just looked up.
+     *
+     * @param id the user ID
+     * @param stamp the value of {@link #stamp()} taken before the lookup
+     */
+    public void recordMissing(Long id, long stamp) {
+        if (!enabled || cluster == null || additions.get() != stamp) {
+            return;
+        }
+        if (missing.size() >= missingMaxEntries && !missing.containsKey(id)) {
+            evictExpired();
+            if (missing.size() >= missingMaxEntries) {
+                Iterator<Long> ids = missing.keySet().iterator();
+                if (ids.hasNext()) {
+                    missing.remove(ids.next());
+                }
+            }
+        }
+        missing.put(id, System.currentTimeMillis() + missingTtl.toMillis());
+        if (additions.get() != stamp) {
+            missing.remove(id);
+        }
+    }
+
+    /**
+     * Add a user that is being created, or whose email is being changed. The user is added at once, and
+     * again once the current transaction commits, when the other replicas are told too. Adding it again
+     * covers a rebuild that scanned the table before the user was committed.
+     *
+     * @param id the user ID
+     * @param email the user's email address
+     */
+    public void recordUser(Long id, String email) {
+        if (!enabled) {
+            return;
+        }
+        add(id, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(id, email);
+                }
+            });
+        } else {
+            publish(id, email);
+        }
+    }
+
+    /**
+     * Rebuild the filters from a scan of the users table, sized for twice the current number of users
+     * or the configured expectation, whichever is larger. Users added during the scan go into both the
+     * old and the new filters.
+     */
+    @Scheduled(fixedDelayString = "${cache.negative.rebuild-interval:PT1H}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            long scanned = transactionTemplate.execute(status -> {
+                long capacity = Math.max(expectedUsers, 2 * userRepository.count());
+                Filters next = new Filters(new BloomFilter(capacity, falsePositiveRate),
+                        new BloomFilter(capacity, falsePositiveRate));
+                building = next;
+                long count = 0;
+                try (Stream<UserKey> keys = userRepository.streamKeys()) {
+                    for (Iterator<UserKey> it = keys.iterator(); it.hasNext(); count++) {
+                        UserKey key = it.next();
+                        next.add(key.id(), key.email());
+                    }
+                }
+                filters = next;
+                return count;
+            });
+            logger.info("Built user negative cache from {} users in {} ms",
+                    scanned, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * Remove all expired IDs from the known-missing set.
+     */
+    @Scheduled(fixedDelayString = "${cache.negative.missing.ttl:PT30S}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        missing.values().removeIf(expiresAtMillis -> now >= expiresAtMillis);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.negative.hits", missingIdHits, AtomicLong::get)
+                .description("Lookups answered as absent without a database query")
+                .tags("cache", "users", "lookup", "id")
+                .register(registry);
+        FunctionCounter.builder("cache.negative.hits", freeEmailHits, AtomicLong::get)
+                .description("Lookups answered as absent without a database query")
+                .tags("cache", "users", "lookup", "email")
+                .register(registry);
+        FunctionCounter.builder("cache.negative.false.positives", emailFalsePositives, AtomicLong::get)
+                .description("Free emails the filter could not rule out, found free by a database query")
+                .tags("cache", "users", "lookup", "email")
+                .register(registry);
+        Gauge.builder("cache.negative.filter.size", this, UserNegativeCache::filterBytes)
+                .description("Memory held by the ID and email filters")
+                .baseUnit("bytes")
+                .tags("cache", "users")
+                .register(registry);
+    }
+
+    public boolean isBuilt() {
+        return filters != null;
+    }
+
+    public int missingSize() {
+        return missing.size();
+    }
+
+    public long filterBytes() {
+        Filters current = filters;
+        return current == null ? 0 : (current.ids().bitSize() + current.emails().bitSize()) / 8;
+    }
+
+    void onInvalidation(String region, String key) {
+        if (!CLUSTER_REGION.equals(region)) {
+            return;
+        }
+        int separator = key.indexOf(':');
+        add(Long.valueOf(key.substring(0, separator)), key.substring(separator + 1));
+        logger.debug("Added user {} created on another replica", key.substring(0, separator));
+    }
+
+    private void publish(Long id, String email) {
+        add(id, email);
+        if (cluster != null) {
+            cluster.broadcastInvalidation(CLUSTER_REGION, id + ":" + email);
+        }
+    }
+
+    private void add(Long id, String email) {
+        Filters rebuilding = building;
+        Filters current = filters;
+        if (current != null) {
+            current.add(id, email);
+        }
+        if (rebuilding != null) {
+            rebuilding.add(id, email);
+        }
+        missing.remove(id);
+        additions.incrementAndGet();
+    }
+
+    private record Filters(BloomFilter ids, BloomFilter emails) {
+
+        void add(Long id, String email) {
+            ids.put(BloomFilter.hash(id));
+            emails.put(BloomFilter.hash(email));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.crudapp.concurrency;
+
+/**
+ * Additive-increase, multiplicative-decrease concurrency limit driven by observed latency.
+ * Requests that complete within the latency threshold while the limit is at least half used raise
+ * the limit by one per limit's worth of responses; a request that is slower, or fails, cuts it by the
+ * backoff ratio. Only requests that started after the last cut can cut it again, so both the increase
+ * and the decrease happen about once per round trip, as in TCP congestion control.
+ */
+public class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private volatile double limit;
+    private boolean decreased;
+    private long lastDecreaseNanos;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Adjust the limit for a completed request.
+     *
+     * @param startNanos the {@link System#nanoTime()} at which the request was admitted
+     * @param latencyNanos how long the request took
+     * @param inFlight the number of requests in flight when it was admitted, including itself
+     * @param dropped whether the request failed in a way that indicates overload
+     */
+    public synchronized void onSample(long startNanos, long latencyNanos, int inFlight, boolean dropped) {
+        if (dropped || latencyNanos > latencyThresholdNanos) {
+            if (!decreased || startNanos - lastDecreaseNanos > 0) {
+                limit = Math.max(minLimit, Math.floor(limit * backoffRatio));
+                lastDecreaseNanos = startNanos + latencyNanos;
+                decreased = true;
+            }
+        } else if (inFlight * 2 >= limit && limit < maxLimit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.crudapp.concurrency;
+
+import com.example.crudapp.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Sheds load on the user and weather APIs before it queues up behind the connection pool.
+ * Each endpoint group has its own {@link ConcurrencyLimiter}, whose limit adapts to the group's
+ * observed latency; requests over the limit are rejected at once with 503 and {@code Retry-After}.
+ * Reads take priority over writes. The current limits, requests in flight and rejections are
+ * published as {@code api.concurrency.*} metrics.
+ */
+@Component
+@ConditionalOnProperty(name = "api.concurrency.enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrencyLimiter usersLimiter;
+    private final ConcurrencyLimiter weatherLimiter;
+
+    @Autowired
+    public ConcurrencyLimitFilter(ObjectMapper objectMapper,
+                                  @Value("${api.concurrency.initial-limit:20}") int initialLimit,
+                                  @Value("${api.concurrency.min-limit:4}") int minLimit,
+                                  @Value("${api.concurrency.max-limit:200}") int maxLimit,
+                                  @Value("${api.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${api.concurrency.write-share:0.75}") double writeShare,
+                                  @Value("${api.concurrency.users.latency-threshold:PT0.25S}") Duration usersLatencyThreshold,
+                                  @Value("${api.concurrency.weather.latency-threshold:PT0.1S}") Duration weatherLatencyThreshold) {
+        this.objectMapper = objectMapper;
+        this.usersLimiter = new ConcurrencyLimiter("users", new AimdLimit(initialLimit, minLimit, maxLimit,
+                backoffRatio, usersLatencyThreshold.toNanos()), writeShare);
+        this.weatherLimiter = new ConcurrencyLimiter("weather", new AimdLimit(initialLimit, minLimit, maxLimit,
+                backoffRatio, weatherLatencyThreshold.toNanos()), writeShare);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return limiterFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ConcurrencyLimiter limiter = limiterFor(request);
+        boolean write = isWrite(request);
+        ConcurrencyLimiter.Permit permit = limiter.tryAcquire(write);
+        if (permit == null) {
+            reject(response, limiter);
+            return;
+        }
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            permit.release(dropped);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ConcurrencyLimiter limiter : List.of(usersLimiter, weatherLimiter)) {
+            Gauge.builder("api.concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", limiter.getName())
+                    .register(registry);
+            Gauge.builder("api.concurrency.in.flight", limiter, ConcurrencyLimiter::getInFlight)
+                    .description("Requests currently admitted")
+                    .tag("group", limiter.getName())
+                    .register(registry);
+            for (boolean write : new boolean[] {false, true}) {
+                FunctionCounter.builder("api.concurrency.rejected", limiter, l -> l.getRejected(write))
+                        .description("Requests rejected because the concurrency limit was reached")
+                        .tag("group", limiter.getName())
+                        .tag("priority", write ? "write" : "read")
+                        .register(registry);
+            }
+        }
+    }
+
+    ConcurrencyLimiter limiterFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/users/import") || path.startsWith("/api/users/export")) {
+            // Bulk transfers run for minutes and are limited by UserTransferService instead
+            return null;
+        }
+        if (path.startsWith("/api/users")) {
+            return usersLimiter;
+        }
+        if (path.startsWith("/api/weather")) {
+            return weatherLimiter;
+        }
+        return null;
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)
+                && !HttpMethod.OPTIONS.matches(method);
+    }
+
+    private void reject(HttpServletResponse response, ConcurrencyLimiter limiter) throws IOException {
+        logger.debug("Rejected request to {} APIs at concurrency limit {}", limiter.getName(), limiter.getLimit());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(HttpStatus.SERVICE_UNAVAILABLE,
+                "Service Unavailable", "Too many concurrent requests, please retry later"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.crudapp.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for one group of endpoints, backed by an {@link AimdLimit}.
+ * Reads may use the whole limit, while writes are admitted only while fewer than
+ * {@code writeShare} of it is in use, so under overload writes are shed first and
+ * cheap reads keep being served.
+ */
+public class ConcurrencyLimiter {
+
+    private final String name;
+    private final AimdLimit limit;
+    private final double writeShare;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejectedReads = new AtomicLong();
+    private final AtomicLong rejectedWrites = new AtomicLong();
+
+    public ConcurrencyLimiter(String name, AimdLimit limit, double writeShare) {
+        if (writeShare <= 0 || writeShare > 1) {
+            throw new IllegalArgumentException("Write share must be greater than 0 and at most 1");
+        }
+        this.name = name;
+        this.limit = limit;
+        this.writeShare = writeShare;
+    }
+
+    /**
+     * Try to admit a request.
+     *
+     * @param write whether the request modifies data
+     * @return a permit to release when the request completes, or null if the request must be rejected
+     */
+    public Permit tryAcquire(boolean write) {
+        int current = limit.getLimit();
+        int allowed = write ? Math.max(1, (int) (current * writeShare)) : current;
+        while (true) {
+            int inFlightNow = inFlight.get();
+            if (inFlightNow >= allowed) {
+                (write ? rejectedWrites : rejectedReads).incrementAndGet();
+                return null;
+            }
+            if (inFlight.compareAndSet(inFlightNow, inFlightNow + 1)) {
+                return new Permit(System.nanoTime(), inFlightNow + 1);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected(boolean write) {
+        return write ? rejectedWrites.get() : rejectedReads.get();
+    }
+
+    /**
+     * An admitted request. Exactly one of {@link #release(boolean)} must be called when it completes.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Release the permit and feed the request's latency into the limit.
+         *
+         * @param dropped whether the request failed in a way that indicates overload
+         */
+        public void release(boolean dropped) {
+            inFlight.decrementAndGet();
+            limit.onSample(startNanos, System.nanoTime() - startNanos, inFlightAtStart, dropped);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.crudapp.config;
+
+import com.example.crudapp.cache.CompactForecast;
+import com.example.crudapp.dto.UserChangeDto;
+import com.example.crudapp.dto.UserChangesDto;
+import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.dto.UserImportResultDto;
+import com.example.crudapp.dto.WeatherDto;
+import com.example.crudapp.entity.User;
+import com.example.crudapp.entity.UserChange;
+import com.example.crudapp.exception.ErrorResponse;
+import com.example.crudapp.ingest.IngestTicket;
+import com.example.crudapp.repository.UserKey;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Runtime hints for the ahead-of-time and native-image builds.
+ * Registers reflection for the types Jackson binds and Hibernate instantiates, including the
+ * getters, setters and constructors Lombok generates and the query projections built with
+ * {@code select new}, and the resources read at startup that no bean references directly.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                UserDto.class, WeatherDto.class, WeatherDto.DailyForecast.class,
+                UserChangeDto.class, UserChangesDto.class, ErrorResponse.class, IngestTicket.class,
+                UserImportResultDto.class, UserImportResultDto.LineError.class);
+
+        for (Class<?> entity : new Class<?>[] {User.class, UserChange.class}) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        hints.reflection().registerType(CompactForecast.Serializer.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(UserKey.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        hints.resources()
+                .registerPattern("application.conf")
+                .registerPattern("db/migration/*.sql");
+    }
+}
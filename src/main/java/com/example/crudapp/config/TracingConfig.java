@@ -0,0 +1,60 @@
+package com.example.crudapp.config;
+
+import com.example.crudapp.tracing.ObservedMethodAdvisor;
+import com.example.crudapp.tracing.RepositorySpanInterceptor;
+import com.example.crudapp.tracing.SampledSpans;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Tracing configuration for the application.
+ * HTTP server spans come from Spring MVC's observation support. Within a sampled request this adds a
+ * span per call to an {@code @Observed} controller or service and a span per repository call.
+ * When {@code tracing.logging.enabled} is set, a local exporter writes every finished span to the log.
+ * The share of requests that are traced is set by {@code management.tracing.sampling.probability}.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    SampledSpans sampledSpans(ObjectProvider<Tracer> tracer) {
+        return new SampledSpans(tracer);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static ObservedMethodAdvisor observedMethodAdvisor(ObjectProvider<Tracer> tracer) {
+        return new ObservedMethodAdvisor(new SampledSpans(tracer));
+    }
+
+    @Bean
+    static BeanPostProcessor repositorySpanPostProcessor(ObjectProvider<Tracer> tracer) {
+        SampledSpans sampledSpans = new SampledSpans(tracer);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                                    proxyFactory.addAdvice(new RepositorySpanInterceptor(
+                                            sampledSpans, repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.logging.enabled", havingValue = "true")
+    LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
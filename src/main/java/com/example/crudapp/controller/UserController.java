@@ -1,51 +1,209 @@
 package com.example.crudapp.controller;
 
+import com.example.crudapp.dto.UserChangesDto;
 import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.dto.UserImportResultDto;
+import com.example.crudapp.idempotency.IdempotencyStore;
+import com.example.crudapp.ingest.IngestTicket;
+import com.example.crudapp.ingest.UserIngestQueue;
+import com.example.crudapp.service.UserChangeService;
 import com.example.crudapp.service.UserService;
+import com.example.crudapp.service.UserTransferFormat;
+import com.example.crudapp.service.UserTransferService;
+import com.example.crudapp.validation.UserDtoValidator;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
  * REST Controller for User management operations.
  * Provides endpoints for CRUD operations on User entities.
+ * Each handler runs in its own trace span, so request binding and validation show up as the
+ * gap between the HTTP server span and the handler span.
  */
 @RestController
 @RequestMapping("/api/users")
 @CrossOrigin(origins = "*")
+@Observed
 public class UserController {
 
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
     private final UserService userService;
+    private final UserDtoValidator userDtoValidator;
+    private final IdempotencyStore idempotencyStore;
+    private final UserIngestQueue userIngestQueue;
+    private final UserChangeService userChangeService;
+    private final UserTransferService userTransferService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserDtoValidator userDtoValidator,
+                          IdempotencyStore idempotencyStore, UserIngestQueue userIngestQueue,
+                          UserChangeService userChangeService, UserTransferService userTransferService) {
         this.userService = userService;
+        this.userDtoValidator = userDtoValidator;
+        this.idempotencyStore = idempotencyStore;
+        this.userIngestQueue = userIngestQueue;
+        this.userChangeService = userChangeService;
+        this.userTransferService = userTransferService;
+    }
+
+    /**
+     * Validate UserDto request bodies with the non-reflective {@link UserDtoValidator}
+     * instead of the default Bean Validation provider.
+     * 
+     * @param binder the data binder for the UserDto request body
+     */
+    @InitBinder("userDto")
+    public void initUserDtoBinder(WebDataBinder binder) {
+        binder.setValidator(userDtoValidator);
     }
 
     /**
      * Create a new user.
+     * When an Idempotency-Key header is present, retries with the same key and body
+     * are answered with the original response without creating the user again.
      * 
      * @param userDto the user data to create
+     * @param idempotencyKey optional client-supplied key identifying this request
+     * @param request the HTTP request, identifying the client the key belongs to
      * @return ResponseEntity containing the created user
      */
     @PostMapping
-    public ResponseEntity<UserDto> createUser(@Valid @RequestBody UserDto userDto) {
-        logger.info("POST /api/users - Creating user with email: {}", userDto.getEmail());
+    public ResponseEntity<UserDto> createUser(@Valid @RequestBody UserDto userDto,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            HttpServletRequest request) {
+        logger.info("POST /api/users - Creating user with email: {}", userDto.email());
         
+        if (idempotencyKey != null) {
+            return idempotencyStore.execute(idempotencyKey, IdempotencyStore.clientOf(request),
+                    "POST /api/users", userDto, () -> doCreateUser(userDto));
+        }
+        return doCreateUser(userDto);
+    }
+
+    private ResponseEntity<UserDto> doCreateUser(UserDto userDto) {
         UserDto createdUser = userService.createUser(userDto);
         
-        logger.info("POST /api/users - User created successfully with ID: {}", createdUser.getId());
+        logger.info("POST /api/users - User created successfully with ID: {}", createdUser.id());
         return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
     }
 
+    /**
+     * Accept a new user for asynchronous creation.
+     * The request is validated and queued, and the response points at a status URL
+     * that reports the created user's ID once a background worker has processed it.
+     * 
+     * @param userDto the user data to create
+     * @param idempotencyKey optional client-supplied key identifying this request
+     * @param request the HTTP request, identifying the client the key belongs to
+     * @return ResponseEntity with status 202 and the pending ticket
+     */
+    @PostMapping(params = "async=true")
+    public ResponseEntity<IngestTicket> createUserAsync(@Valid @RequestBody UserDto userDto,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            HttpServletRequest request) {
+        logger.info("POST /api/users?async=true - Queueing user with email: {}", userDto.email());
+
+        if (idempotencyKey != null) {
+            return idempotencyStore.execute(idempotencyKey, IdempotencyStore.clientOf(request),
+                    "POST /api/users?async=true", userDto, () -> doCreateUserAsync(userDto));
+        }
+        return doCreateUserAsync(userDto);
+    }
+
+    private ResponseEntity<IngestTicket> doCreateUserAsync(UserDto userDto) {
+        IngestTicket ticket = userIngestQueue.submit(userDto);
+
+        logger.info("POST /api/users?async=true - User queued with ticket: {}", ticket.id());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/users/ingest/" + ticket.id()))
+                .body(ticket);
+    }
+
+    /**
+     * Get the status of an asynchronous user creation request.
+     * 
+     * @param ticketId the ticket identifier returned when the request was accepted
+     * @return ResponseEntity containing the ticket, or 404 if it is unknown or expired
+     */
+    @GetMapping("/ingest/{ticketId}")
+    public ResponseEntity<IngestTicket> getIngestStatus(@PathVariable String ticketId) {
+        logger.info("GET /api/users/ingest/{} - Retrieving ingest status", ticketId);
+
+        IngestTicket ticket = userIngestQueue.getTicket(ticketId);
+        if (ticket == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (ticket.state() == IngestTicket.State.CREATED) {
+            return ResponseEntity.ok()
+                    .location(URI.create("/api/users/" + ticket.userId()))
+                    .body(ticket);
+        }
+        return ResponseEntity.ok(ticket);
+    }
+
+    /**
+     * Import users from a CSV or NDJSON body, read and inserted in batches as it arrives.
+     * Records that cannot be parsed, fail validation or use an existing email are skipped
+     * and reported by line number.
+     * 
+     * @param request the request whose body holds one user per line
+     * @return ResponseEntity containing the import counts and per-line errors
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<UserImportResultDto> importUsers(HttpServletRequest request) throws IOException {
+        UserTransferFormat format = UserTransferFormat.forMediaType(MediaType.parseMediaType(request.getContentType()));
+        logger.info("POST /api/users/import - Importing users as {}", format);
+
+        UserImportResultDto result = userTransferService.importUsers(request.getInputStream(), format);
+
+        logger.info("POST /api/users/import - Imported {} users, rejected {}", result.imported(), result.rejected());
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    /**
+     * Export all users in ID order, streamed as they are read.
+     * 
+     * @param format ndjson or csv
+     * @param response the response the users are written to
+     */
+    @GetMapping("/export")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                            HttpServletResponse response) throws IOException {
+        UserTransferFormat transferFormat = UserTransferFormat.forName(format);
+        if (transferFormat == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Export format must be ndjson or csv");
+        }
+        logger.info("GET /api/users/export - Exporting users as {}", transferFormat);
+
+        long exported = userTransferService.exportUsers(transferFormat, () -> {
+            response.setContentType(transferFormat.getMediaType().toString());
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=users." + transferFormat.getExtension());
+            return response.getOutputStream();
+        });
+
+        logger.info("GET /api/users/export - Exported {} users", exported);
+    }
+
     /**
      * Get all users.
      * 
@@ -61,6 +219,25 @@ public class UserController {
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
 
+    /**
+     * Get the user changes recorded after a sequence number.
+     * Consumers keep the returned nextSince and pass it back to receive only new changes.
+     * 
+     * @param since the last sequence number seen, 0 to start from the oldest retained change
+     * @param limit the maximum number of changes to return
+     * @return ResponseEntity containing the page of changes
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<UserChangesDto> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                     @RequestParam(defaultValue = "100") int limit) {
+        logger.info("GET /api/users/changes - Retrieving changes since {}", since);
+
+        UserChangesDto changes = userChangeService.getChangesSince(since, limit);
+
+        logger.info("GET /api/users/changes - Retrieved {} changes", changes.changes().size());
+        return new ResponseEntity<>(changes, HttpStatus.OK);
+    }
+
     /**
      * Get user by ID.
      * 
@@ -1,12 +1,22 @@
 package com.example.crudapp.controller;
 
+import com.example.crudapp.cache.CompactForecast;
 import com.example.crudapp.dto.WeatherDto;
 import com.example.crudapp.service.WeatherService;
+import com.example.crudapp.stream.ForecastStreamBroker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Comparator;
+import java.util.List;
 
 /**
  * REST Controller for Weather operations.
@@ -19,29 +29,54 @@ public class WeatherController {
 
     private static final Logger logger = LoggerFactory.getLogger(WeatherController.class);
 
+    private static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
     private final WeatherService weatherService;
+    private final ForecastStreamBroker forecastStreamBroker;
+    private final boolean precompressedGzip;
 
     @Autowired
-    public WeatherController(WeatherService weatherService) {
+    public WeatherController(WeatherService weatherService, ForecastStreamBroker forecastStreamBroker,
+                             @Value("${weather.response.precompressed-gzip:true}") boolean precompressedGzip) {
         this.weatherService = weatherService;
+        this.forecastStreamBroker = forecastStreamBroker;
+        this.precompressedGzip = precompressedGzip;
     }
 
     /**
      * Get 7-day weather forecast for a given zip code.
+     * The forecast's cached JSON bytes are written as-is; clients accepting gzip get the
+     * cached precompressed variant. Clients preferring CBOR or Smile get the forecast
+     * serialized in that format instead.
      * 
      * @param zipCode the zip code to get weather for
-     * @return ResponseEntity containing WeatherDto with 7-day forecast
+     * @param accept the Accept request header, if any
+     * @param acceptEncoding the Accept-Encoding request header, if any
+     * @return ResponseEntity containing the 7-day forecast as WeatherDto JSON, CBOR or Smile
      */
     @GetMapping("/forecast/{zipCode}")
-    public ResponseEntity<WeatherDto> getSevenDayForecast(@PathVariable String zipCode) {
+    public ResponseEntity<?> getSevenDayForecast(@PathVariable String zipCode,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         logger.info("GET /api/weather/forecast/{} - Fetching 7-day weather forecast", zipCode);
         
         try {
-            WeatherDto weatherForecast = weatherService.getSevenDayForecast(zipCode);
+            CompactForecast weatherForecast = weatherService.getCompactForecast(zipCode);
             logger.info("Successfully retrieved weather forecast for zip code: {}", zipCode);
-            return ResponseEntity.ok(weatherForecast);
+            // The body depends on both headers, so shared caches must key on both
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+            if (prefersBinary(accept)) {
+                return response.body(weatherForecast);
+            }
+            response.contentType(MediaType.APPLICATION_JSON);
+            if (precompressedGzip && acceptsGzip(acceptEncoding)) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .body(weatherForecast.getGzippedJson());
+            }
+            return response.body(weatherForecast.getJson());
         } catch (IllegalArgumentException e) {
-            logger.warn("Invalid zip code provided: {}", zipCode);
+            logger.debug("Invalid zip code provided: {}", zipCode);
             throw e;
         } catch (Exception e) {
             logger.error("Error retrieving weather forecast for zip code: {}", zipCode, e);
@@ -49,6 +84,23 @@ public class WeatherController {
         }
     }
 
+    /**
+     * Stream 7-day weather forecasts for a given zip code as Server-Sent Events.
+     * The current forecast is sent immediately as a {@code forecast} event, followed by a
+     * new one each time the cached forecast for the zip code is refreshed.
+     * 
+     * @param zipCode the zip code to stream weather for
+     * @return the event stream
+     */
+    @GetMapping(path = "/stream/{zipCode}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamForecast(@PathVariable String zipCode) {
+        logger.info("GET /api/weather/stream/{} - Subscribing to forecast updates", zipCode);
+
+        String normalizedZipCode = weatherService.normalizeZipCode(zipCode);
+        CompactForecast weatherForecast = weatherService.getCompactForecast(normalizedZipCode);
+        return forecastStreamBroker.subscribe(normalizedZipCode, weatherForecast);
+    }
+
     /**
      * Get current weather for a given zip code.
      * 
@@ -60,16 +112,83 @@ public class WeatherController {
         logger.info("GET /api/weather/current/{} - Fetching current weather", zipCode);
         
         try {
-            WeatherDto weatherForecast = weatherService.getSevenDayForecast(zipCode);
-            WeatherDto.DailyForecast currentWeather = weatherForecast.getForecast().get(0);
+            CompactForecast weatherForecast = weatherService.getCompactForecast(zipCode);
+            WeatherDto.DailyForecast currentWeather = weatherForecast.getDay(0);
             logger.info("Successfully retrieved current weather for zip code: {}", zipCode);
             return ResponseEntity.ok(currentWeather);
         } catch (IllegalArgumentException e) {
-            logger.warn("Invalid zip code provided: {}", zipCode);
+            logger.debug("Invalid zip code provided: {}", zipCode);
             throw e;
         } catch (Exception e) {
             logger.error("Error retrieving current weather for zip code: {}", zipCode, e);
             throw e;
         }
     }
+
+    /**
+     * Check whether an Accept header ranks CBOR or Smile above JSON.
+     * 
+     * @param accept the Accept header value
+     * @return true if a binary format should be negotiated instead of the cached JSON
+     */
+    private static boolean prefersBinary(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR) || mediaType.isCompatibleWith(APPLICATION_SMILE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether an Accept-Encoding header allows a gzip-encoded response.
+     * An explicit {@code gzip} entry takes precedence over {@code *}, wherever each appears.
+     * 
+     * @param acceptEncoding the Accept-Encoding header value
+     * @return true if gzip is accepted with a non-zero quality
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double wildcardQuality = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                gzipQuality = quality(parts);
+            } else if (name.equals("*")) {
+                wildcardQuality = quality(parts);
+            }
+        }
+        return gzipQuality >= 0 ? gzipQuality > 0 : wildcardQuality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
 }
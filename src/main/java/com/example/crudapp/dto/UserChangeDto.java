@@ -0,0 +1,18 @@
+package com.example.crudapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for one entry of the user change feed.
+ *
+ * @param sequence the position of this change in the feed
+ * @param type CREATED, UPDATED or DELETED
+ * @param userId the ID of the changed user
+ * @param user the user after the change; absent for deletions
+ * @param occurredAt when the change was recorded, which is before its transaction commits
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserChangeDto(long sequence, String type, Long userId, UserDto user, LocalDateTime occurredAt) {
+}
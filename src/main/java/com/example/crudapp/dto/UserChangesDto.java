@@ -0,0 +1,17 @@
+package com.example.crudapp.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of the user change feed.
+ *
+ * @param changes the changes in sequence order
+ * @param nextSince the value to pass as {@code since} to fetch the following changes
+ * @param hasMore whether more changes were already available when this page was read
+ */
+public record UserChangesDto(List<UserChangeDto> changes, long nextSince, boolean hasMore) {
+
+    public UserChangesDto {
+        changes = List.copyOf(changes);
+    }
+}
@@ -4,29 +4,28 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
 /**
  * Data Transfer Object for User entity.
  * Used for API requests and responses to separate API contract from entity model.
+ * Immutable; Jackson binds it through the canonical constructor.
+ *
+ * @param id the user ID, or null for a user that has not been created yet
+ * @param name the user's name
+ * @param email the user's email address
+ * @param age the user's age
  */
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class UserDto {
+public record UserDto(
+        Long id,
 
-    private Long id;
+        @NotBlank(message = "Name is required")
+        String name,
 
-    @NotBlank(message = "Name is required")
-    private String name;
+        @NotBlank(message = "Email is required")
+        @Email(message = "Email should be valid")
+        String email,
 
-    @NotBlank(message = "Email is required")
-    @Email(message = "Email should be valid")
-    private String email;
-
-    @NotNull(message = "Age is required")
-    @Min(value = 1, message = "Age must be greater than 0")
-    private Integer age;
+        @NotNull(message = "Age is required")
+        @Min(value = 1, message = "Age must be greater than 0")
+        Integer age) {
 }
@@ -0,0 +1,23 @@
+package com.example.crudapp.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk user import.
+ *
+ * @param records the number of user records read, not counting a CSV header or blank lines
+ * @param imported the number of users created
+ * @param rejected the number of records not imported
+ * @param errors why records were rejected, by line, up to the configured limit
+ * @param errorsTruncated whether more records were rejected than are listed in errors
+ */
+public record UserImportResultDto(long records, long imported, long rejected, List<LineError> errors,
+                                  boolean errorsTruncated) {
+
+    /**
+     * @param line the 1-based line number in the uploaded body
+     * @param message why the record on that line was not imported
+     */
+    public record LineError(long line, String message) {
+    }
+}
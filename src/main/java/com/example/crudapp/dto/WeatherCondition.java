@@ -0,0 +1,54 @@
+package com.example.crudapp.dto;
+
+/**
+ * Known weather conditions used for forecast descriptions.
+ * The ordinal is used as a compact code when forecasts are persisted, so new
+ * values must only ever be appended at the end.
+ */
+public enum WeatherCondition {
+
+    SUNNY("Sunny"),
+    PARTLY_CLOUDY("Partly Cloudy"),
+    CLOUDY("Cloudy"),
+    LIGHT_RAIN("Light Rain"),
+    HEAVY_RAIN("Heavy Rain"),
+    THUNDERSTORMS("Thunderstorms"),
+    SNOW("Snow");
+
+    private static final WeatherCondition[] VALUES = values();
+
+    private final String label;
+
+    WeatherCondition(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Resolve a condition by its display label.
+     *
+     * @param label the forecast description
+     * @return the matching condition, or null if the label is not a known condition
+     */
+    public static WeatherCondition fromLabel(String label) {
+        for (WeatherCondition condition : VALUES) {
+            if (condition.label.equals(label)) {
+                return condition;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolve a condition by its ordinal code.
+     *
+     * @param ordinal the ordinal code
+     * @return the matching condition
+     */
+    public static WeatherCondition fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
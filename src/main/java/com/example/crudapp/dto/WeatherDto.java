@@ -1,38 +1,34 @@
 package com.example.crudapp.dto;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
 import java.time.LocalDate;
 import java.util.List;
 
 /**
  * Data Transfer Object for Weather information.
  * Contains weather forecast data for a specific location.
+ * Immutable, including the forecast list, so instances can be shared across threads without copying.
+ *
+ * @param location the location name
+ * @param zipCode the zip code the forecast is for
+ * @param forecast the daily forecasts, in date order
  */
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class WeatherDto {
+public record WeatherDto(String location, String zipCode, List<DailyForecast> forecast) {
 
-    private String location;
-    private String zipCode;
-    private List<DailyForecast> forecast;
+    public WeatherDto {
+        forecast = forecast == null ? null : List.copyOf(forecast);
+    }
 
     /**
      * Represents a single day's weather forecast.
+     *
+     * @param date the forecast date
+     * @param description the weather description
+     * @param temperatureHigh the high temperature
+     * @param temperatureLow the low temperature
+     * @param humidity the humidity percentage
+     * @param windSpeed the wind speed
      */
-    @Data
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class DailyForecast {
-        private LocalDate date;
-        private String description;
-        private double temperatureHigh;
-        private double temperatureLow;
-        private int humidity;
-        private double windSpeed;
+    public record DailyForecast(LocalDate date, String description, double temperatureHigh,
+                                double temperatureLow, int humidity, double windSpeed) {
     }
 }
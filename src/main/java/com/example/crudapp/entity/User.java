@@ -8,20 +8,31 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * User entity representing a user in the system.
  * Contains basic user information including id, name, email, and age.
+ * Held in the Hibernate second-level cache, so lookups by ID after the first skip the database.
+ * IDs come from a pooled sequence rather than an identity column so inserts can be JDBC-batched.
+ * The constraints on the fields are not checked again on flush ({@code jakarta.persistence.validation.mode}
+ * is {@code none}). Every path that writes a user validates its {@code UserDto} with {@code UserDtoValidator} first.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -30,7 +41,7 @@ public class User {
 
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @NotNull(message = "Age is required")
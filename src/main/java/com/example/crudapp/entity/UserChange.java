@@ -0,0 +1,69 @@
+package com.example.crudapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox entry recording one mutation of a {@link User}.
+ * Written in the same transaction as the mutation, so the change feed never misses or
+ * invents a change. Carries a snapshot of the user after the change; deletions carry only the ID.
+ */
+@Entity
+@Table(name = "user_changes", indexes = @Index(name = "idx_user_changes_occurred_at", columnList = "occurredAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChange {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private String name;
+
+    private String email;
+
+    private Integer age;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    /**
+     * Record a creation or update, snapshotting the user's current state.
+     * 
+     * @param type the kind of change
+     * @param user the user after the change
+     * @return a new, unsaved change entry
+     */
+    public static UserChange of(Type type, User user) {
+        return new UserChange(null, type, user.getId(), user.getName(), user.getEmail(), user.getAge(),
+                LocalDateTime.now());
+    }
+
+    /**
+     * Record a deletion.
+     * 
+     * @param userId the ID of the deleted user
+     * @return a new, unsaved change entry
+     */
+    public static UserChange deleted(Long userId) {
+        return new UserChange(null, Type.DELETED, userId, null, null, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.crudapp.exception;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Immutable error payload returned by {@link GlobalExceptionHandler}.
+ * Serialized directly by Jackson, without building an intermediate map.
+ *
+ * @param timestamp when the error occurred
+ * @param status the HTTP status code
+ * @param error a short, human-readable error title
+ * @param message the error detail
+ * @param validationErrors field validation messages keyed by field name, or null if not a validation error
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(LocalDateTime timestamp, int status, String error, String message,
+                            Map<String, String> validationErrors) {
+
+    /**
+     * Create an error payload without validation errors.
+     *
+     * @param status the HTTP status
+     * @param error a short, human-readable error title
+     * @param message the error detail
+     * @return the error payload
+     */
+    public static ErrorResponse of(HttpStatus status, String error, String message) {
+        return new ErrorResponse(LocalDateTime.now(), status.value(), error, message, null);
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.crudapp.exception;
 
+import com.example.crudapp.entity.User;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -11,14 +14,17 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * Global exception handler for the application.
  * Handles all exceptions and provides consistent error responses.
+ * Expected business errors (404, 409, 422) and malformed zip codes are logged at DEBUG since clients routinely trigger them.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -26,10 +32,10 @@ public class GlobalExceptionHandler {
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
     @ExceptionHandler(UserNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleUserNotFoundException(UserNotFoundException ex) {
-        logger.error("User not found: {}", ex.getMessage());
-        Map<String, Object> errorResponse = createErrorResponse(
-            HttpStatus.NOT_FOUND.value(),
+    public ResponseEntity<ErrorResponse> handleUserNotFoundException(UserNotFoundException ex) {
+        logger.debug("User not found: {}", ex.getMessage());
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.NOT_FOUND,
             "User Not Found",
             ex.getMessage()
         );
@@ -37,18 +43,53 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(UserAlreadyExistsException.class)
-    public ResponseEntity<Map<String, Object>> handleUserAlreadyExistsException(UserAlreadyExistsException ex) {
-        logger.error("User already exists: {}", ex.getMessage());
-        Map<String, Object> errorResponse = createErrorResponse(
-            HttpStatus.CONFLICT.value(),
+    public ResponseEntity<ErrorResponse> handleUserAlreadyExistsException(UserAlreadyExistsException ex) {
+        logger.debug("User already exists: {}", ex.getMessage());
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.CONFLICT,
             "User Already Exists",
             ex.getMessage()
         );
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyConflictException(IdempotencyKeyConflictException ex) {
+        logger.debug("Idempotency key conflict: {}", ex.getMessage());
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.CONFLICT,
+            "Request In Progress",
+            ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException ex) {
+        logger.debug("Idempotency key mismatch: {}", ex.getMessage());
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.UNPROCESSABLE_ENTITY,
+            "Idempotency Key Reused",
+            ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(IngestQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleIngestQueueFullException(IngestQueueFullException ex) {
+        logger.warn("User ingest rejected: {}", ex.getMessage());
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.TOO_MANY_REQUESTS,
+            "Too Many Requests",
+            ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         logger.error("Validation error: {}", ex.getMessage());
         Map<String, String> validationErrors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
@@ -57,20 +98,21 @@ public class GlobalExceptionHandler {
             validationErrors.put(fieldName, errorMessage);
         });
 
-        Map<String, Object> errorResponse = createErrorResponse(
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
             HttpStatus.BAD_REQUEST.value(),
             "Validation Failed",
-            "Invalid input data"
+            "Invalid input data",
+            validationErrors
         );
-        errorResponse.put("validationErrors", validationErrors);
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(NullPointerException.class)
-    public ResponseEntity<Map<String, Object>> handleNullPointerException(NullPointerException ex) {
+    public ResponseEntity<ErrorResponse> handleNullPointerException(NullPointerException ex) {
         logger.error("Null pointer exception occurred: {}", ex.getMessage(), ex);
-        Map<String, Object> errorResponse = createErrorResponse(
-            HttpStatus.INTERNAL_SERVER_ERROR.value(),
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.INTERNAL_SERVER_ERROR,
             "Null Pointer Error",
             "A required value was null"
         );
@@ -78,21 +120,32 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(IndexOutOfBoundsException.class)
-    public ResponseEntity<Map<String, Object>> handleIndexOutOfBoundsException(IndexOutOfBoundsException ex) {
+    public ResponseEntity<ErrorResponse> handleIndexOutOfBoundsException(IndexOutOfBoundsException ex) {
         logger.error("Index out of bounds exception: {}", ex.getMessage(), ex);
-        Map<String, Object> errorResponse = createErrorResponse(
-            HttpStatus.BAD_REQUEST.value(),
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.BAD_REQUEST,
             "Index Out of Bounds",
             "Invalid index or range specified"
         );
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidZipCodeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidZipCodeException(InvalidZipCodeException ex) {
+        logger.debug("Invalid zip code: {}", ex.getMessage());
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.BAD_REQUEST,
+            "Invalid Argument",
+            ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
         logger.error("Illegal argument exception: {}", ex.getMessage(), ex);
-        Map<String, Object> errorResponse = createErrorResponse(
-            HttpStatus.BAD_REQUEST.value(),
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.BAD_REQUEST,
             "Invalid Argument",
             ex.getMessage() != null ? ex.getMessage() : "Invalid argument provided"
         );
@@ -100,10 +153,10 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(IllegalStateException.class)
-    public ResponseEntity<Map<String, Object>> handleIllegalStateException(IllegalStateException ex) {
+    public ResponseEntity<ErrorResponse> handleIllegalStateException(IllegalStateException ex) {
         logger.error("Illegal state exception: {}", ex.getMessage(), ex);
-        Map<String, Object> errorResponse = createErrorResponse(
-            HttpStatus.CONFLICT.value(),
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.CONFLICT,
             "Invalid State",
             ex.getMessage() != null ? ex.getMessage() : "Operation not allowed in current state"
         );
@@ -111,10 +164,10 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(NumberFormatException.class)
-    public ResponseEntity<Map<String, Object>> handleNumberFormatException(NumberFormatException ex) {
+    public ResponseEntity<ErrorResponse> handleNumberFormatException(NumberFormatException ex) {
         logger.error("Number format exception: {}", ex.getMessage(), ex);
-        Map<String, Object> errorResponse = createErrorResponse(
-            HttpStatus.BAD_REQUEST.value(),
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.BAD_REQUEST,
             "Invalid Number Format",
             "Invalid number format provided"
         );
@@ -122,10 +175,10 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
-    public ResponseEntity<Map<String, Object>> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
         logger.error("Method argument type mismatch: {}", ex.getMessage(), ex);
-        Map<String, Object> errorResponse = createErrorResponse(
-            HttpStatus.BAD_REQUEST.value(),
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.BAD_REQUEST,
             "Invalid Parameter Type",
             String.format("Invalid value '%s' for parameter '%s'", ex.getValue(), ex.getName())
         );
@@ -133,10 +186,10 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<Map<String, Object>> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
         logger.error("HTTP message not readable: {}", ex.getMessage(), ex);
-        Map<String, Object> errorResponse = createErrorResponse(
-            HttpStatus.BAD_REQUEST.value(),
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.BAD_REQUEST,
             "Invalid Request Body",
             "Request body is malformed or missing"
         );
@@ -144,10 +197,19 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
-    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        if (isDuplicateEmail(ex)) {
+            logger.debug("Duplicate email rejected by the database: {}", ex.getMessage());
+            ErrorResponse errorResponse = createErrorResponse(
+                HttpStatus.CONFLICT,
+                "User Already Exists",
+                "A user with this email already exists"
+            );
+            return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        }
         logger.error("Data integrity violation: {}", ex.getMessage(), ex);
-        Map<String, Object> errorResponse = createErrorResponse(
-            HttpStatus.CONFLICT.value(),
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.CONFLICT,
             "Data Integrity Violation",
             "Data constraint violation occurred"
         );
@@ -155,33 +217,53 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(ClassCastException.class)
-    public ResponseEntity<Map<String, Object>> handleClassCastException(ClassCastException ex) {
+    public ResponseEntity<ErrorResponse> handleClassCastException(ClassCastException ex) {
         logger.error("Class cast exception: {}", ex.getMessage(), ex);
-        Map<String, Object> errorResponse = createErrorResponse(
-            HttpStatus.INTERNAL_SERVER_ERROR.value(),
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.INTERNAL_SERVER_ERROR,
             "Type Conversion Error",
             "Invalid type conversion attempted"
         );
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(ResponseStatusException ex) {
+        logger.debug("Request rejected with status {}: {}", ex.getStatusCode(), ex.getReason());
+        HttpStatus status = HttpStatus.valueOf(ex.getStatusCode().value());
+        ErrorResponse errorResponse = createErrorResponse(
+            status,
+            status.getReasonPhrase(),
+            ex.getReason()
+        );
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         logger.error("Unexpected error occurred: {}", ex.getMessage(), ex);
-        Map<String, Object> errorResponse = createErrorResponse(
-            HttpStatus.INTERNAL_SERVER_ERROR.value(),
+        ErrorResponse errorResponse = createErrorResponse(
+            HttpStatus.INTERNAL_SERVER_ERROR,
             "Internal Server Error",
             "An unexpected error occurred"
         );
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
-    private Map<String, Object> createErrorResponse(int status, String error, String message) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", status);
-        errorResponse.put("error", error);
-        errorResponse.put("message", message);
-        return errorResponse;
+    private ErrorResponse createErrorResponse(HttpStatus status, String error, String message) {
+        return ErrorResponse.of(status, error, message);
+    }
+
+    /**
+     * The unique constraint on email is the final arbiter of duplicates: the service's check can be
+     * skipped or raced, so a violation of it is reported as the duplicate it is.
+     */
+    private static boolean isDuplicateEmail(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,12 @@
+package com.example.crudapp.exception;
+
+/**
+ * Custom exception thrown when a request with the same Idempotency-Key is still being processed.
+ * Thrown on expected, client-driven paths, so no stack trace is captured.
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.crudapp.exception;
+
+/**
+ * Custom exception thrown when an Idempotency-Key is reused with a different request payload.
+ * Thrown on expected, client-driven paths, so no stack trace is captured.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.crudapp.exception;
+
+/**
+ * Custom exception thrown when the asynchronous user ingest queue is full.
+ * Thrown on an expected backpressure path, so no stack trace is captured.
+ */
+public class IngestQueueFullException extends RuntimeException {
+
+    public IngestQueueFullException(String message) {
+        super(message, null, false, false);
+    }
+}
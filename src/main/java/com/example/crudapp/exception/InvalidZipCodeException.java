@@ -0,0 +1,18 @@
+package com.example.crudapp.exception;
+
+/**
+ * Custom exception thrown when a weather request names a malformed zip code.
+ * Thrown on an expected, client-driven path, so no stack trace is captured. It remains an
+ * {@link IllegalArgumentException} so callers that catch that keep working.
+ */
+public class InvalidZipCodeException extends IllegalArgumentException {
+
+    public InvalidZipCodeException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -2,14 +2,15 @@ package com.example.crudapp.exception;
 
 /**
  * Custom exception thrown when attempting to create a user that already exists.
+ * Thrown on expected, client-driven paths, so no stack trace is captured.
  */
 public class UserAlreadyExistsException extends RuntimeException {
 
     public UserAlreadyExistsException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public UserAlreadyExistsException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
@@ -2,14 +2,15 @@ package com.example.crudapp.exception;
 
 /**
  * Custom exception thrown when a user is not found in the system.
+ * Thrown on expected, client-driven paths, so no stack trace is captured.
  */
 public class UserNotFoundException extends RuntimeException {
 
     public UserNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public UserNotFoundException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
@@ -0,0 +1,177 @@
+package com.example.crudapp.idempotency;
+
+import com.example.crudapp.exception.IdempotencyKeyConflictException;
+import com.example.crudapp.exception.IdempotencyKeyMismatchException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-to-live store of responses keyed by client-supplied Idempotency-Key.
+ * The first request with a key runs normally and its response is remembered; retries with
+ * the same key and payload are answered from memory without running the request again.
+ * Keys are scoped to the client that sent them, so two clients choosing the same key do not collide.
+ * A key is tied to the endpoint it was first used on, so reusing it on another endpoint is
+ * rejected as a mismatch rather than answered with a response of the wrong type.
+ * Failed requests are not remembered, so a retry after an error runs again. A request still
+ * running after {@code idempotency.pending-ttl} no longer blocks retries with its key.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration pendingTtl;
+    private final int maxEntries;
+
+    @Autowired
+    public IdempotencyStore(@Value("${idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${idempotency.pending-ttl:PT5M}") Duration pendingTtl,
+                            @Value("${idempotency.max-entries:100000}") int maxEntries) {
+        this.ttl = ttl;
+        this.pendingTtl = pendingTtl;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Identify the client a key belongs to: the authenticated principal if there is one,
+     * otherwise the remote address.
+     *
+     * @param request the incoming request
+     * @return the client identity to pass to {@link #execute}
+     */
+    public static String clientOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Run a request at most once per idempotency key.
+     *
+     * @param key the client-supplied idempotency key
+     * @param client the client that sent the key, from {@link #clientOf}
+     * @param endpoint the endpoint being called, such as {@code POST /api/users}
+     * @param request the request payload, compared with equals() against the original request
+     * @param action the request to run if the key has not been seen
+     * @param <T> the response body type
+     * @return the response of the original request, or of this one if the key is new
+     * @throws IllegalArgumentException if the key is blank or too long
+     * @throws IdempotencyKeyConflictException if a request with the same key is still running
+     * @throws IdempotencyKeyMismatchException if the key was used on a different endpoint or with a different payload
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String key, String client, String endpoint, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = client + ' ' + key;
+        long now = System.currentTimeMillis();
+        Entry pending = new Entry(endpoint, request, null, now + pendingTtl.toMillis());
+        Entry existing = entries.putIfAbsent(scopedKey, pending);
+        if (existing != null && existing.isExpired(now)) {
+            entries.remove(scopedKey, existing);
+            existing = entries.putIfAbsent(scopedKey, pending);
+        }
+        if (existing != null) {
+            return (ResponseEntity<T>) replay(key, endpoint, request, existing);
+        }
+
+        boolean stored = false;
+        try {
+            ResponseEntity<T> response = action.get();
+            ensureCapacity();
+            entries.replace(scopedKey, pending,
+                    new Entry(endpoint, request, response, System.currentTimeMillis() + ttl.toMillis()));
+            stored = true;
+            return response;
+        } finally {
+            if (!stored) {
+                entries.remove(scopedKey, pending);
+            }
+        }
+    }
+
+    /**
+     * Remove all expired responses from memory.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.eviction-interval:PT1M}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private ResponseEntity<?> replay(String key, String endpoint, Object request, Entry existing) {
+        if (!existing.endpoint.equals(endpoint)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key " + key + " was already used with "
+                    + existing.endpoint);
+        }
+        if (existing.response == null) {
+            throw new IdempotencyKeyConflictException("A request with Idempotency-Key " + key + " is still in progress");
+        }
+        if (!existing.request.equals(request)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key " + key + " was already used with a different request");
+        }
+        logger.info("Replaying stored response for Idempotency-Key: {}", key);
+        return ResponseEntity.status(existing.response.getStatusCode())
+                .headers(existing.response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(existing.response.getBody());
+    }
+
+    private void ensureCapacity() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        evictExpired();
+        Iterator<Entry> values = entries.values().iterator();
+        while (entries.size() > maxEntries && values.hasNext()) {
+            if (values.next().response != null) {
+                values.remove();
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final String endpoint;
+        private final Object request;
+        private final ResponseEntity<?> response;
+        private final long expiresAtMillis;
+
+        Entry(String endpoint, Object request, ResponseEntity<?> response, long expiresAtMillis) {
+            this.endpoint = endpoint;
+            this.request = request;
+            this.response = response;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.crudapp.ingest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Status of a user creation request accepted by the asynchronous ingest queue.
+ *
+ * @param id the ticket identifier used in the status URL
+ * @param state the processing state of the request
+ * @param userId the ID of the created user, once created
+ * @param message the reason the request failed, if it failed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IngestTicket(String id, State state, Long userId, String message) {
+
+    public enum State {
+        PENDING,
+        CREATED,
+        FAILED
+    }
+
+    static IngestTicket pending(String id) {
+        return new IngestTicket(id, State.PENDING, null, null);
+    }
+
+    IngestTicket created(Long userId) {
+        return new IngestTicket(id, State.CREATED, userId, null);
+    }
+
+    IngestTicket failed(String message) {
+        return new IngestTicket(id, State.FAILED, null, message);
+    }
+
+    boolean isFinished() {
+        return state != State.PENDING;
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.crudapp.ingest;
+
+import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.exception.IngestQueueFullException;
+import com.example.crudapp.exception.UserAlreadyExistsException;
+import com.example.crudapp.service.UserService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded in-memory queue for asynchronous user creation.
+ * Requests are accepted immediately with an {@link IngestTicket} and created by background
+ * workers, which drain the queue in batches so a burst of registrations shares one
+ * transaction and connection per batch instead of one per request.
+ * When the queue is full, new requests are rejected rather than buffered.
+ * At most {@code users.ingest.max-tickets} tickets are tracked; reaching the cap drops the oldest
+ * finished ones ahead of their status time-to-live.
+ */
+@Component
+public class UserIngestQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserIngestQueue.class);
+
+    private final UserService userService;
+    private final BlockingQueue<PendingUser> queue;
+    private final Map<String, TrackedTicket> tickets = new ConcurrentHashMap<>();
+    private final int workers;
+    private final int batchSize;
+    private final Duration statusTtl;
+    private final int maxTickets;
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    @Autowired
+    public UserIngestQueue(UserService userService,
+                           @Value("${users.ingest.capacity:10000}") int capacity,
+                           @Value("${users.ingest.workers:2}") int workers,
+                           @Value("${users.ingest.batch-size:100}") int batchSize,
+                           @Value("${users.ingest.status-ttl:PT1H}") Duration statusTtl,
+                           @Value("${users.ingest.max-tickets:100000}") int maxTickets) {
+        this.userService = userService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.statusTtl = statusTtl;
+        this.maxTickets = maxTickets;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "user-ingest-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Stop accepting requests and give the workers a chance to finish the queued ones.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("User ingest queue stopped with {} requests not processed", queue.size());
+        }
+    }
+
+    /**
+     * Enqueue a validated user for asynchronous creation.
+     *
+     * @param userDto the user data to create
+     * @return the pending ticket for the request
+     * @throws IngestQueueFullException if the queue is full, or every tracked ticket is still pending
+     * @throws ResponseStatusException with 503 if the application is shutting down
+     */
+    public IngestTicket submit(UserDto userDto) {
+        if (!running) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "User ingest queue is shutting down");
+        }
+        if (tickets.size() >= maxTickets) {
+            evictOldestFinishedTickets();
+        }
+        IngestTicket ticket = IngestTicket.pending(UUID.randomUUID().toString());
+        tickets.put(ticket.id(), new TrackedTicket(ticket));
+        if (!queue.offer(new PendingUser(ticket.id(), userDto))) {
+            tickets.remove(ticket.id());
+            throw new IngestQueueFullException("User ingest queue is full, retry later");
+        }
+        return ticket;
+    }
+
+    /**
+     * Look up the status of a submitted request.
+     *
+     * @param ticketId the ticket identifier
+     * @return the ticket, or null if unknown or expired
+     */
+    public IngestTicket getTicket(String ticketId) {
+        TrackedTicket tracked = tickets.get(ticketId);
+        return tracked != null ? tracked.ticket : null;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Remove finished tickets older than the status time-to-live.
+     */
+    @Scheduled(fixedDelayString = "${users.ingest.status-eviction-interval:PT1M}")
+    public void evictExpiredTickets() {
+        long cutoff = System.currentTimeMillis() - statusTtl.toMillis();
+        tickets.values().removeIf(tracked -> tracked.ticket.isFinished() && tracked.updatedAtMillis < cutoff);
+    }
+
+    /**
+     * Make room under the ticket cap by dropping the oldest finished tickets, a tenth of the cap at a time
+     * so the scan runs once per many submissions rather than on each one.
+     */
+    private void evictOldestFinishedTickets() {
+        int excess = tickets.size() - maxTickets + Math.max(1, maxTickets / 10);
+        tickets.entrySet().stream()
+                .filter(entry -> entry.getValue().ticket.isFinished())
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().updatedAtMillis))
+                .limit(excess)
+                .toList()
+                .forEach(entry -> tickets.remove(entry.getKey(), entry.getValue()));
+        if (tickets.size() >= maxTickets) {
+            throw new IngestQueueFullException("Too many user ingest requests pending, retry later");
+        }
+    }
+
+    private void drain() {
+        List<PendingUser> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingUser first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("User ingest batch of {} failed: {}", batch.size(), e.getMessage(), e);
+                // Requests the one-at-a-time retry already finished keep their outcome
+                batch.forEach(pending -> complete(pending, null, "Internal error while creating user"));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<PendingUser> batch) {
+        List<UserDto> userDtos = new ArrayList<>(batch.size());
+        batch.forEach(pending -> userDtos.add(pending.userDto));
+        List<UserDto> created;
+        try {
+            created = userService.createUsers(userDtos);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("User ingest batch of {} conflicted, retrying one at a time", batch.size());
+            batch.forEach(this::processOne);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            PendingUser pending = batch.get(i);
+            UserDto user = created.get(i);
+            if (user != null) {
+                complete(pending, user.id(), null);
+            } else {
+                complete(pending, null, "User with email " + pending.userDto.email() + " already exists");
+            }
+        }
+        logger.info("User ingest batch processed: {} requests, {} remaining in queue", batch.size(), queue.size());
+    }
+
+    private void processOne(PendingUser pending) {
+        try {
+            complete(pending, userService.createUser(pending.userDto).id(), null);
+        } catch (UserAlreadyExistsException | DataIntegrityViolationException e) {
+            complete(pending, null, "User with email " + pending.userDto.email() + " already exists");
+        }
+    }
+
+    /**
+     * Record the outcome of a request if it is still pending.
+     * A finished ticket is never overwritten, so a request is reported as created or failed only once.
+     */
+    private void complete(PendingUser pending, Long userId, String failure) {
+        tickets.computeIfPresent(pending.ticketId, (ticketId, tracked) -> {
+            if (tracked.ticket.isFinished()) {
+                return tracked;
+            }
+            return new TrackedTicket(userId != null ? tracked.ticket.created(userId) : tracked.ticket.failed(failure));
+        });
+    }
+
+    private static final class PendingUser {
+
+        private final String ticketId;
+        private final UserDto userDto;
+
+        PendingUser(String ticketId, UserDto userDto) {
+            this.ticketId = ticketId;
+            this.userDto = userDto;
+        }
+    }
+
+    private static final class TrackedTicket {
+
+        private final IngestTicket ticket;
+        private final long updatedAtMillis;
+
+        TrackedTicket(IngestTicket ticket) {
+            this.ticket = ticket;
+            this.updatedAtMillis = System.currentTimeMillis();
+        }
+    }
+}
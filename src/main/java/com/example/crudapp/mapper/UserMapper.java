@@ -1,15 +1,23 @@
 package com.example.crudapp.mapper;
 
+import com.example.crudapp.dto.UserChangeDto;
 import com.example.crudapp.dto.UserDto;
 import com.example.crudapp.entity.User;
-import org.springframework.stereotype.Component;
+import com.example.crudapp.entity.UserChange;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Mapper class for converting between User entity and UserDto.
- * Provides methods to map data between different layers of the application.
+ * Mapper for converting between User entity and UserDto.
+ * The implementation is generated at compile time by MapStruct as plain getter/setter calls,
+ * so new fields are picked up without hand-written mapping code and without reflection.
  */
-@Component
-public class UserMapper {
+@Mapper(componentModel = "spring")
+public abstract class UserMapper {
 
     /**
      * Convert User entity to UserDto.
@@ -17,12 +25,7 @@ public class UserMapper {
      * @param user the User entity to convert
      * @return UserDto representation of the user
      */
-    public UserDto toDto(User user) {
-        if (user == null) {
-            return null;
-        }
-        return new UserDto(user.getId(), user.getName(), user.getEmail(), user.getAge());
-    }
+    public abstract UserDto toDto(User user);
 
     /**
      * Convert UserDto to User entity.
@@ -30,17 +33,25 @@ public class UserMapper {
      * @param userDto the UserDto to convert
      * @return User entity representation
      */
-    public User toEntity(UserDto userDto) {
-        if (userDto == null) {
-            return null;
-        }
-        User user = new User();
-        user.setId(userDto.getId());
-        user.setName(userDto.getName());
-        user.setEmail(userDto.getEmail());
-        user.setAge(userDto.getAge());
-        return user;
-    }
+    public abstract User toEntity(UserDto userDto);
+
+    /**
+     * Convert a list of User entities to UserDtos.
+     * The result list is presized to the input size.
+     * 
+     * @param users the User entities to convert
+     * @return UserDto representations, in the same order
+     */
+    public abstract List<UserDto> toDtos(List<User> users);
+
+    /**
+     * Convert a list of UserDtos to User entities.
+     * The result list is presized to the input size.
+     * 
+     * @param userDtos the UserDtos to convert
+     * @return User entity representations, in the same order
+     */
+    public abstract List<User> toEntities(List<UserDto> userDtos);
 
     /**
      * Update existing User entity with data from UserDto.
@@ -50,9 +61,39 @@ public class UserMapper {
      */
     public void updateEntityFromDto(User existingUser, UserDto userDto) {
         if (existingUser != null && userDto != null) {
-            existingUser.setName(userDto.getName());
-            existingUser.setEmail(userDto.getEmail());
-            existingUser.setAge(userDto.getAge());
+            copyToEntity(userDto, existingUser);
         }
     }
+
+    /**
+     * Convert a UserChange outbox entry to its change feed representation.
+     * Deletions carry no user snapshot.
+     * 
+     * @param change the outbox entry to convert
+     * @return UserChangeDto representation of the change
+     */
+    public UserChangeDto toChangeDto(UserChange change) {
+        UserDto user = change.getType() == UserChange.Type.DELETED
+                ? null
+                : new UserDto(change.getUserId(), change.getName(), change.getEmail(), change.getAge());
+        return new UserChangeDto(change.getSequence(), change.getType().name(), change.getUserId(), user,
+                change.getOccurredAt());
+    }
+
+    /**
+     * Convert a list of UserChange outbox entries to their change feed representation.
+     * 
+     * @param changes the outbox entries to convert
+     * @return UserChangeDto representations, in the same order
+     */
+    public List<UserChangeDto> toChangeDtos(List<UserChange> changes) {
+        List<UserChangeDto> changeDtos = new ArrayList<>(changes.size());
+        for (UserChange change : changes) {
+            changeDtos.add(toChangeDto(change));
+        }
+        return changeDtos;
+    }
+
+    @Mapping(target = "id", ignore = true)
+    protected abstract void copyToEntity(UserDto userDto, @MappingTarget User user);
 }
@@ -0,0 +1,100 @@
+package com.example.crudapp.profiling;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Always-on Java Flight Recorder recording with a rolling on-disk buffer.
+ * Uses the low-overhead {@code default} settings, or the named JFR configuration set in
+ * {@code profiling.jfr.settings}, and keeps only the last {@code profiling.jfr.max-age} of data,
+ * capped at {@code profiling.jfr.max-size}, so a latency spike can be examined after the fact
+ * together with the GC, lock and allocation events around it.
+ */
+@Component
+@ConditionalOnProperty(name = "profiling.jfr.enabled", havingValue = "true")
+public class ContinuousRecording {
+
+    static final String RECORDING_NAME = "crudapp-continuous";
+
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+
+    private Recording recording;
+
+    @Autowired
+    public ContinuousRecording(@Value("${profiling.jfr.settings:default}") String settings,
+                               @Value("${profiling.jfr.max-age:PT30M}") Duration maxAge,
+                               @Value("${profiling.jfr.max-size:256MB}") DataSize maxSize) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        logger.info("Started continuous flight recording with '{}' settings, keeping the last {} up to {}",
+                settings, maxAge, maxSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /**
+     * Write the most recent part of the recording to a file.
+     * JFR stores data in chunks, so the dump may start somewhat earlier than requested.
+     *
+     * @param last how much recent data to include, at most the configured maximum age
+     * @param file the file to write
+     */
+    public void dump(Duration last, Path file) {
+        long seconds = Math.max(1, Math.min(last.toSeconds(), maxAge.toSeconds()));
+        String[] arguments = {
+                "name=" + RECORDING_NAME,
+                "maxage=" + seconds + "s",
+                "filename=" + file.toAbsolutePath()
+        };
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.invoke(new ObjectName("com.sun.management:type=DiagnosticCommand"), "jfrDump",
+                    new Object[] {arguments}, new String[] {String[].class.getName()});
+        } catch (JMException e) {
+            throw new UncheckedIOException(new IOException("Failed to dump flight recording to " + file, e));
+        }
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.crudapp.profiling;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Actuator endpoint that downloads the recent part of the continuous flight recording,
+ * for example {@code GET /actuator/jfr?last=5m}. Only one dump runs at a time; concurrent
+ * requests get {@code 429 Too Many Requests}. The dump file is deleted once it has been sent.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@ConditionalOnProperty(name = "profiling.jfr.enabled", havingValue = "true")
+public class FlightRecordingEndpoint {
+
+    static final Duration DEFAULT_LAST = Duration.ofMinutes(5);
+
+    private final ContinuousRecording recording;
+    private final Lock lock = new ReentrantLock();
+
+    @Autowired
+    public FlightRecordingEndpoint(ContinuousRecording recording) {
+        this.recording = recording;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Nullable Duration last) throws IOException {
+        if (!lock.tryLock()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        try {
+            Path file = Files.createTempFile("crudapp-", ".jfr");
+            try {
+                recording.dump(last != null ? last : DEFAULT_LAST, file);
+            } catch (RuntimeException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            return new WebEndpointResponse<>(new TemporaryFileResource(file), WebEndpointResponse.STATUS_OK);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A file resource that deletes the file once its content has been read.
+     */
+    static final class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(getFile().toPath(), StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE);
+        }
+
+        @Override
+        public boolean isFile() {
+            // Not a plain file, so converters stream it through getInputStream() and the file gets deleted
+            return false;
+        }
+    }
+}
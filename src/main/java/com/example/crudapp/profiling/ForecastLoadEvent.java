@@ -0,0 +1,46 @@
+package com.example.crudapp.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a forecast cache miss: the upstream fetch, compaction and cache insert.
+ */
+@Name("com.example.crudapp.ForecastLoad")
+@Label("Forecast Cache Load")
+@Category({"Crudapp", "Weather"})
+@Description("A forecast loaded into the cache after a miss")
+@StackTrace(false)
+public class ForecastLoadEvent extends Event {
+
+    @Label("Zip Code")
+    private final String zipCode;
+
+    @Label("Fallback")
+    @Description("Whether generated data was cached because the upstream call failed")
+    private boolean fallback;
+
+    private ForecastLoadEvent(String zipCode) {
+        this.zipCode = zipCode;
+    }
+
+    /**
+     * Create the event and start timing it. Call {@link #commit()} when the forecast is cached.
+     *
+     * @param zipCode the zip code being loaded
+     * @return the started event
+     */
+    public static ForecastLoadEvent start(String zipCode) {
+        ForecastLoadEvent event = new ForecastLoadEvent(zipCode);
+        event.begin();
+        return event;
+    }
+
+    public void fallback() {
+        this.fallback = true;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.crudapp.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a call to an external service.
+ * Stack traces are kept so slow calls can be attributed to their caller.
+ */
+@Name("com.example.crudapp.UpstreamCall")
+@Label("Upstream Call")
+@Category({"Crudapp", "Upstream"})
+public class UpstreamCallEvent extends Event {
+
+    @Label("Service")
+    private final String service;
+
+    @Label("Resource")
+    private final String resource;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    private UpstreamCallEvent(String service, String resource) {
+        this.service = service;
+        this.resource = resource;
+    }
+
+    /**
+     * Create the event and start timing it. Call {@link #commit()} when the call returns or fails.
+     *
+     * @param service the external service name
+     * @param resource what was requested from it
+     * @return the started event
+     */
+    public static UpstreamCallEvent start(String service, String resource) {
+        UpstreamCallEvent event = new UpstreamCallEvent(service, resource);
+        event.begin();
+        return event;
+    }
+
+    public void succeeded() {
+        this.succeeded = true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.crudapp.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a {@code UserService} operation.
+ * The event spans the service method body; the transaction commit that follows it is not included.
+ */
+@Name("com.example.crudapp.UserOperation")
+@Label("User Operation")
+@Category({"Crudapp", "Users"})
+@Description("A user service call, excluding the transaction commit")
+@StackTrace(false)
+public class UserOperationEvent extends Event {
+
+    @Label("Operation")
+    private final String operation;
+
+    @Label("User ID")
+    @Description("The user the operation targeted or created, or 0 if it did not concern a single user")
+    private long userId;
+
+    @Label("Count")
+    @Description("The number of users created or returned")
+    private int count;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    private UserOperationEvent(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Create the event and start timing it. Call {@link #commit()} when the operation finishes.
+     *
+     * @param operation the operation name, for example {@code create} or {@code update}
+     * @return the started event
+     */
+    public static UserOperationEvent start(String operation) {
+        UserOperationEvent event = new UserOperationEvent(operation);
+        event.begin();
+        return event;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId != null ? userId : 0;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public void succeeded() {
+        this.succeeded = true;
+    }
+}
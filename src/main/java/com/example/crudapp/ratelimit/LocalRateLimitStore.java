@@ -0,0 +1,102 @@
+package com.example.crudapp.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, expiring, in-memory token buckets keyed by client.
+ * Each bucket is a single {@link AtomicLong} holding its {@link TokenBucketPolicy} arrival time, so taking a
+ * token is a lock-free map read followed by a compare-and-set, and clients never contend with each other.
+ * Full buckets hold no state and are swept periodically; if the map still reaches {@code maxClients}, an
+ * arbitrary bucket is dropped to make room, which at worst gives that client a fresh burst.
+ */
+@Component
+@ConditionalOnProperty(name = "api.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimitStore implements RateLimitStore, MeterBinder {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final TokenBucketPolicy policy;
+    private final int maxClients;
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public LocalRateLimitStore(@Value("${api.rate-limit.capacity:100}") int capacity,
+                               @Value("${api.rate-limit.refill-per-second:50}") double refillPerSecond,
+                               @Value("${api.rate-limit.max-clients:100000}") int maxClients) {
+        this(new TokenBucketPolicy(capacity, refillPerSecond), maxClients);
+    }
+
+    public LocalRateLimitStore(TokenBucketPolicy policy, int maxClients) {
+        if (maxClients < 1) {
+            throw new IllegalArgumentException("Max clients must be at least 1");
+        }
+        this.policy = policy;
+        this.maxClients = maxClients;
+    }
+
+    @Override
+    public long tryAcquire(String clientKey) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            bucket = register(clientKey, now);
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = policy.admit(arrival, now);
+            if (next == TokenBucketPolicy.REJECTED) {
+                return Math.max(1L, policy.waitNanos(arrival, now));
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Remove buckets that have refilled completely. A request racing with the sweep may take its token from
+     * a bucket that was just removed, which admits at most one request more than the limit.
+     */
+    @Scheduled(fixedDelayString = "${api.rate-limit.eviction-interval:PT10S}")
+    public void evictFull() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> policy.isFull(bucket.get(), now));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("api.rate.limit.clients", buckets, ConcurrentHashMap::size)
+                .description("Clients with a partly drained rate limit bucket")
+                .register(registry);
+        FunctionCounter.builder("api.rate.limit.evictions", evictions, AtomicLong::get)
+                .description("Buckets dropped before they refilled because the client table was full")
+                .register(registry);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong register(String clientKey, long now) {
+        if (buckets.size() >= maxClients) {
+            Iterator<String> keys = buckets.keySet().iterator();
+            if (keys.hasNext() && buckets.remove(keys.next()) != null) {
+                evictions.incrementAndGet();
+            }
+        }
+        AtomicLong created = new AtomicLong(now);
+        AtomicLong existing = buckets.putIfAbsent(clientKey, created);
+        return existing != null ? existing : created;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.crudapp.ratelimit;
+
+/**
+ * Key-value storage shared by every node, used by {@link SharedRateLimitStore} to hold token buckets.
+ * Each bucket is one {@code long}, so an implementation only needs an atomic compare-and-set with an
+ * expiry, such as a Redis script comparing and setting a key with {@code PX}, or a distributed map's
+ * {@code replace(key, expected, update)} with a time to live. No implementation is bundled; provide one
+ * as a bean and set {@code api.rate-limit.store=shared}.
+ */
+public interface RateLimitBackend {
+
+    /** Returned by {@link #get} when the key is absent or has expired. */
+    long ABSENT = Long.MIN_VALUE;
+
+    /**
+     * @param key the bucket key
+     * @return the stored value, or {@link #ABSENT}
+     */
+    long get(String key);
+
+    /**
+     * Atomically replace a value if it still holds the expected one.
+     *
+     * @param key the bucket key
+     * @param expected the value last read, or {@link #ABSENT} to create the key
+     * @param update the new value
+     * @param ttlMillis how long the key may live before it expires
+     * @return whether the value was replaced
+     */
+    boolean compareAndSet(String key, long expected, long update, long ttlMillis);
+}
@@ -0,0 +1,110 @@
+package com.example.crudapp.ratelimit;
+
+import com.example.crudapp.exception.ErrorResponse;
+import com.example.crudapp.warmup.WarmupToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limits the user and weather APIs per client, so one noisy partner cannot use up the capacity
+ * shared by everyone else. A client is identified by its remote address. Setting
+ * {@code api.rate-limit.key-header} identifies clients by that header instead when they send it; the key is
+ * not authenticated here, so only set it behind a gateway that rejects unknown keys, or a client could take
+ * a fresh bucket on every request. Requests over the client's limit are rejected with 429 and {@code Retry-After}
+ * before they take a concurrency slot. The warm-up's own requests, marked with its {@link WarmupToken},
+ * are not limited.
+ */
+@Component
+@ConditionalOnProperty(name = "api.rate-limit.enabled", havingValue = "true")
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimitStore store;
+    private final ObjectMapper objectMapper;
+    private final String keyHeader;
+    private final WarmupToken warmupToken;
+    private final LongAdder rejected = new LongAdder();
+
+    @Autowired
+    public RateLimitFilter(RateLimitStore store, ObjectMapper objectMapper,
+                           @Value("${api.rate-limit.key-header:}") String keyHeader,
+                           @Nullable WarmupToken warmupToken) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.keyHeader = keyHeader;
+        this.warmupToken = warmupToken;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/api/users") && !path.startsWith("/api/weather")) {
+            return true;
+        }
+        return warmupToken != null && warmupToken.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientKey = clientKey(request);
+        long waitNanos = store.tryAcquire(clientKey);
+        if (waitNanos > 0) {
+            reject(request, response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("api.rate.limit.rejected", rejected, LongAdder::sum)
+                .description("Requests rejected because the client exceeded its rate limit")
+                .register(registry);
+    }
+
+    String clientKey(HttpServletRequest request) {
+        if (StringUtils.hasLength(keyHeader)) {
+            String apiKey = request.getHeader(keyHeader);
+            if (StringUtils.hasText(apiKey)) {
+                return "key:" + apiKey;
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        rejected.increment();
+        logger.debug("Rate limited {} {} for {} ms", request.getMethod(), request.getRequestURI(), waitNanos / 1_000_000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((waitNanos + 999_999_999L) / 1_000_000_000L));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(HttpStatus.TOO_MANY_REQUESTS,
+                "Too Many Requests", "Rate limit exceeded, please retry later"));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.crudapp.ratelimit;
+
+/**
+ * Holds one token bucket per client.
+ * {@link LocalRateLimitStore} keeps the buckets in this JVM, so each node enforces the limit on its own;
+ * {@link SharedRateLimitStore} keeps them in a {@link RateLimitBackend} shared by every node.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Take one token from the client's bucket.
+     *
+     * @param clientKey identifies the client, such as its API key or address
+     * @return 0 if the request is admitted, otherwise how many nanoseconds until the bucket holds a token
+     */
+    long tryAcquire(String clientKey);
+}
@@ -0,0 +1,52 @@
+package com.example.crudapp.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token buckets held in a {@link RateLimitBackend}, so a client's limit applies across every node rather
+ * than per node. Buckets are timed with the wall clock, since nodes do not share {@link System#nanoTime()},
+ * and expire in the backend once they have refilled. Each request costs one read and one compare-and-set
+ * against the backend, plus a retry when another node updated the same bucket in between.
+ */
+@Component
+@ConditionalOnProperty(name = "api.rate-limit.store", havingValue = "shared")
+public class SharedRateLimitStore implements RateLimitStore {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    private final RateLimitBackend backend;
+    private final TokenBucketPolicy policy;
+
+    @Autowired
+    public SharedRateLimitStore(RateLimitBackend backend,
+                                @Value("${api.rate-limit.capacity:100}") int capacity,
+                                @Value("${api.rate-limit.refill-per-second:50}") double refillPerSecond) {
+        this(backend, new TokenBucketPolicy(capacity, refillPerSecond));
+    }
+
+    public SharedRateLimitStore(RateLimitBackend backend, TokenBucketPolicy policy) {
+        this.backend = backend;
+        this.policy = policy;
+    }
+
+    @Override
+    public long tryAcquire(String clientKey) {
+        String key = KEY_PREFIX + clientKey;
+        while (true) {
+            long now = System.currentTimeMillis() * 1_000_000L;
+            long stored = backend.get(key);
+            long arrival = stored == RateLimitBackend.ABSENT ? now : stored;
+            long next = policy.admit(arrival, now);
+            if (next == TokenBucketPolicy.REJECTED) {
+                return Math.max(1L, policy.waitNanos(arrival, now));
+            }
+            long ttlMillis = Math.max(1L, (next - now) / 1_000_000L + 1);
+            if (backend.compareAndSet(key, stored, next, ttlMillis)) {
+                return 0L;
+            }
+        }
+    }
+}
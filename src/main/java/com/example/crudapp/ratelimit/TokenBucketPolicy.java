@@ -0,0 +1,72 @@
+package com.example.crudapp.ratelimit;
+
+/**
+ * Token bucket arithmetic in its single-timestamp form (the generic cell rate algorithm).
+ * Instead of a token count and a last-refill time, a bucket is represented by one {@code long}: the
+ * theoretical arrival time at which it would be full again. A bucket whose arrival time is not
+ * after now is full, so it carries no state and can be forgotten. Because the whole bucket is one
+ * number, stores can update it with a single compare-and-set.
+ */
+public final class TokenBucketPolicy {
+
+    /** Returned by {@link #admit} when the bucket is empty. */
+    public static final long REJECTED = Long.MIN_VALUE;
+
+    private final int capacity;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    /**
+     * @param capacity the number of requests a full bucket admits at once
+     * @param refillPerSecond the sustained number of requests admitted per second
+     */
+    public TokenBucketPolicy(int capacity, double refillPerSecond) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        if (refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Refill rate must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1L, Math.round(1_000_000_000d / refillPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+    }
+
+    /**
+     * Take one token from a bucket.
+     *
+     * @param arrivalNanos the bucket's current theoretical arrival time
+     * @param nowNanos the current time, on the same clock
+     * @return the bucket's new arrival time, or {@link #REJECTED} if the bucket is empty
+     */
+    public long admit(long arrivalNanos, long nowNanos) {
+        long next = (arrivalNanos - nowNanos > 0 ? arrivalNanos : nowNanos) + emissionIntervalNanos;
+        return next - nowNanos > burstToleranceNanos ? REJECTED : next;
+    }
+
+    /**
+     * @param arrivalNanos the bucket's current theoretical arrival time
+     * @param nowNanos the current time, on the same clock
+     * @return how long until the bucket holds a token again
+     */
+    public long waitNanos(long arrivalNanos, long nowNanos) {
+        return Math.max(0L, arrivalNanos + emissionIntervalNanos - burstToleranceNanos - nowNanos);
+    }
+
+    /**
+     * @param arrivalNanos the bucket's current theoretical arrival time
+     * @param nowNanos the current time, on the same clock
+     * @return whether the bucket is full, and so equivalent to having no bucket at all
+     */
+    public boolean isFull(long arrivalNanos, long nowNanos) {
+        return arrivalNanos - nowNanos <= 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getEmissionIntervalNanos() {
+        return emissionIntervalNanos;
+    }
+}
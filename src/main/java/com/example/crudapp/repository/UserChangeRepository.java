@@ -0,0 +1,39 @@
+package com.example.crudapp.repository;
+
+import com.example.crudapp.entity.UserChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for the {@link UserChange} outbox.
+ */
+@Repository
+public interface UserChangeRepository extends JpaRepository<UserChange, Long> {
+
+    /**
+     * Find changes recorded after the given sequence number, oldest first.
+     * 
+     * @param since the last sequence number the caller has seen
+     * @param page the maximum number of changes to return
+     * @return the changes after {@code since}, in sequence order
+     */
+    @Query("select c from UserChange c where c.sequence > :since order by c.sequence")
+    List<UserChange> findChangesSince(@Param("since") long since, Pageable page);
+
+    /**
+     * Delete changes recorded before the given time.
+     * 
+     * @param cutoff the oldest time to keep
+     * @return the number of changes deleted
+     */
+    @Modifying
+    @Query("delete from UserChange c where c.occurredAt < :cutoff")
+    int deleteRecordedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,10 @@
+package com.example.crudapp.repository;
+
+/**
+ * The unique keys of a user, read without loading the entity.
+ *
+ * @param id the user ID
+ * @param email the user's email address
+ */
+public record UserKey(Long id, String email) {
+}
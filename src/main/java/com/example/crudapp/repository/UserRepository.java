@@ -1,14 +1,25 @@
 package com.example.crudapp.repository;
 
+import com.example.crudapp.dto.UserDto;
 import com.example.crudapp.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for User entity.
  * Provides CRUD operations and custom query methods for User management.
+ * Email lookups use the Hibernate query cache; Hibernate invalidates their cached results
+ * whenever the users table is written, so they never return stale answers.
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -19,6 +30,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param email the email to search for
      * @return Optional containing the user if found
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
     /**
@@ -27,5 +39,36 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param email the email to check
      * @return true if user exists with the given email
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByEmail(String email);
+
+    /**
+     * Find which of the given email addresses are already taken.
+     * 
+     * @param emails the emails to check
+     * @return the subset of emails that belong to existing users
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Stream the ID and email of every user, for callers that scan the whole table.
+     * Must be called in a transaction, and the stream closed when done.
+     *
+     * @return the keys of all users, in no particular order
+     */
+    @Query("select new com.example.crudapp.repository.UserKey(u.id, u.email) from User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserKey> streamKeys();
+
+    /**
+     * Stream every user in ID order, for export. Hibernate reads the rows through a forward-only
+     * cursor, and the fetch size lets the driver transfer them in chunks.
+     * Must be called in a transaction, and the stream closed when done.
+     *
+     * @return all users as DTOs, in ascending ID order
+     */
+    @Query("select new com.example.crudapp.dto.UserDto(u.id, u.name, u.email, u.age) from User u order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserDto> streamAllOrderedById();
 }
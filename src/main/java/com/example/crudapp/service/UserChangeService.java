@@ -0,0 +1,100 @@
+package com.example.crudapp.service;
+
+import com.example.crudapp.dto.UserChangeDto;
+import com.example.crudapp.dto.UserChangesDto;
+import com.example.crudapp.entity.UserChange;
+import com.example.crudapp.mapper.UserMapper;
+import com.example.crudapp.repository.UserChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service class for the incremental user change feed.
+ * Lets downstream consumers fetch only the user mutations since the last sequence they saw,
+ * instead of re-reading the whole users table. Changes are written by {@link UserService}
+ * in the same transaction as each mutation and purged after a retention period.
+ * <p>
+ * Sequence numbers are assigned at insert time, so a change from a transaction that commits late
+ * can appear behind one already visible. The feed therefore stops at the first change recorded
+ * within the commit lag, and returns a change only once every transaction that recorded a change
+ * before it has had the commit lag to finish.
+ */
+@Service
+@Transactional(readOnly = true)
+public class UserChangeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserChangeService.class);
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final UserChangeRepository userChangeRepository;
+    private final UserMapper userMapper;
+    private final Duration retention;
+    private final Duration commitLag;
+
+    @Autowired
+    public UserChangeService(UserChangeRepository userChangeRepository, UserMapper userMapper,
+                             @Value("${users.changes.retention:P7D}") Duration retention,
+                             @Value("${users.changes.commit-lag:PT5S}") Duration commitLag) {
+        this.userChangeRepository = userChangeRepository;
+        this.userMapper = userMapper;
+        this.retention = retention;
+        this.commitLag = commitLag;
+    }
+
+    /**
+     * Retrieve the changes recorded after a sequence number.
+     * Changes recorded less than the commit lag ago, and every change after the first of them,
+     * are held back until a later call, so a transaction that commits late is not skipped.
+     * 
+     * @param since the last sequence number the caller has seen, 0 for the start of the feed
+     * @param limit the maximum number of changes to return, capped at {@value #MAX_PAGE_SIZE}
+     * @return the page of changes and the sequence to continue from
+     * @throws IllegalArgumentException if since is negative or limit is not positive
+     */
+    public UserChangesDto getChangesSince(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be greater than 0");
+        }
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        logger.info("Retrieving up to {} user changes since sequence {}", pageSize, since);
+
+        List<UserChange> page = userChangeRepository.findChangesSince(since, PageRequest.of(0, pageSize + 1));
+        LocalDateTime watermark = LocalDateTime.now().minus(commitLag);
+        int settled = 0;
+        while (settled < page.size() && page.get(settled).getOccurredAt().isBefore(watermark)) {
+            settled++;
+        }
+        boolean hasMore = settled > pageSize;
+        List<UserChangeDto> changes = userMapper.toChangeDtos(page.subList(0, Math.min(settled, pageSize)));
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).sequence();
+
+        logger.info("Retrieved {} user changes, next sequence {}", changes.size(), nextSince);
+        return new UserChangesDto(changes, nextSince, hasMore);
+    }
+
+    /**
+     * Delete changes older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${users.changes.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpiredChanges() {
+        int purged = userChangeRepository.deleteRecordedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            logger.info("Purged {} user changes older than {}", purged, retention);
+        }
+    }
+}
@@ -1,37 +1,60 @@
 package com.example.crudapp.service;
 
+import com.example.crudapp.cache.UserCache;
+import com.example.crudapp.cache.UserNegativeCache;
 import com.example.crudapp.dto.UserDto;
 import com.example.crudapp.entity.User;
+import com.example.crudapp.entity.UserChange;
 import com.example.crudapp.exception.UserAlreadyExistsException;
 import com.example.crudapp.exception.UserNotFoundException;
 import com.example.crudapp.mapper.UserMapper;
+import com.example.crudapp.profiling.UserOperationEvent;
+import com.example.crudapp.repository.UserChangeRepository;
 import com.example.crudapp.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Service class for User management operations.
  * Contains business logic for CRUD operations on User entities.
+ * Every mutation also records a {@link UserChange} in the same transaction for the change feed,
+ * and invalidates the user in the {@link UserCache} shared with other replicas.
+ * Lookups of IDs and emails the {@link UserNegativeCache} knows to be absent skip the database;
+ * the unique constraint on email remains the final arbiter of duplicates.
+ * Each operation is recorded as a {@link UserOperationEvent} for the flight recorder and, in sampled
+ * requests, traced as a {@code UserService#method} span.
  */
 @Service
 @Transactional
+@Observed
 public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserChangeRepository userChangeRepository;
+    private final UserCache userCache;
+    private final UserNegativeCache userNegativeCache;
 
     @Autowired
-    public UserService(UserRepository userRepository, UserMapper userMapper) {
+    public UserService(UserRepository userRepository, UserMapper userMapper,
+                       UserChangeRepository userChangeRepository, UserCache userCache,
+                       UserNegativeCache userNegativeCache) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.userChangeRepository = userChangeRepository;
+        this.userCache = userCache;
+        this.userNegativeCache = userNegativeCache;
     }
 
     /**
@@ -42,18 +65,88 @@ public class UserService {
      * @throws UserAlreadyExistsException if user with email already exists
      */
     public UserDto createUser(UserDto userDto) {
-        logger.info("Creating new user with email: {}", userDto.getEmail());
+        UserOperationEvent event = UserOperationEvent.start("create");
+        try {
+            logger.info("Creating new user with email: {}", userDto.email());
         
-        if (userRepository.existsByEmail(userDto.getEmail())) {
-            logger.warn("User creation failed - email already exists: {}", userDto.getEmail());
-            throw new UserAlreadyExistsException("User with email " + userDto.getEmail() + " already exists");
-        }
+            if (isEmailTaken(userDto.email())) {
+                logger.warn("User creation failed - email already exists: {}", userDto.email());
+                throw new UserAlreadyExistsException("User with email " + userDto.email() + " already exists");
+            }
 
-        User user = userMapper.toEntity(userDto);
-        User savedUser = userRepository.save(user);
+            User user = userMapper.toEntity(userDto);
+            User savedUser = userRepository.save(user);
+            userChangeRepository.save(UserChange.of(UserChange.Type.CREATED, savedUser));
+            userCache.invalidate(savedUser.getId());
+            userNegativeCache.recordUser(savedUser.getId(), savedUser.getEmail());
         
-        logger.info("User created successfully with ID: {}", savedUser.getId());
-        return userMapper.toDto(savedUser);
+            logger.info("User created successfully with ID: {}", savedUser.getId());
+            event.setUserId(savedUser.getId());
+            event.setCount(1);
+            event.succeeded();
+            return userMapper.toDto(savedUser);
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Create a batch of users in a single transaction.
+     * Existing emails are looked up with one query for the whole batch, leaving out emails the
+     * negative cache knows to be free. Users whose email is
+     * already taken, or repeats an earlier email in the batch, are skipped rather than failing the batch.
+     * 
+     * @param userDtos the users to create
+     * @return the created users in input order, with null in place of each skipped user
+     */
+    public List<UserDto> createUsers(List<UserDto> userDtos) {
+        UserOperationEvent event = UserOperationEvent.start("createBatch");
+        try {
+            logger.info("Creating batch of {} users", userDtos.size());
+
+            List<String> emails = new ArrayList<>(userDtos.size());
+            userDtos.forEach(userDto -> {
+                if (!userNegativeCache.isEmailFree(userDto.email())) {
+                    emails.add(userDto.email());
+                }
+            });
+            Set<String> takenEmails = emails.isEmpty()
+                    ? new HashSet<>()
+                    : new HashSet<>(userRepository.findExistingEmails(emails));
+
+            List<User> toSave = new ArrayList<>(userDtos.size());
+            List<Integer> savedPositions = new ArrayList<>(userDtos.size());
+            for (int i = 0; i < userDtos.size(); i++) {
+                UserDto userDto = userDtos.get(i);
+                if (takenEmails.add(userDto.email())) {
+                    toSave.add(userMapper.toEntity(userDto));
+                    savedPositions.add(i);
+                }
+            }
+
+            List<User> savedUsers = userRepository.saveAll(toSave);
+            List<UserChange> changes = new ArrayList<>(savedUsers.size());
+            savedUsers.forEach(savedUser -> changes.add(UserChange.of(UserChange.Type.CREATED, savedUser)));
+            userChangeRepository.saveAll(changes);
+            savedUsers.forEach(savedUser -> {
+                userCache.invalidate(savedUser.getId());
+                userNegativeCache.recordUser(savedUser.getId(), savedUser.getEmail());
+            });
+            List<UserDto> results = new ArrayList<>(userDtos.size());
+            for (int i = 0; i < userDtos.size(); i++) {
+                results.add(null);
+            }
+            for (int i = 0; i < savedUsers.size(); i++) {
+                results.set(savedPositions.get(i), userMapper.toDto(savedUsers.get(i)));
+            }
+
+            logger.info("Batch created {} of {} users", savedUsers.size(), userDtos.size());
+            event.setCount(savedUsers.size());
+            event.succeeded();
+            return results;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
@@ -63,19 +156,25 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
-        logger.info("Retrieving all users");
+        UserOperationEvent event = UserOperationEvent.start("getAll");
+        try {
+            logger.info("Retrieving all users");
         
-        List<User> users = userRepository.findAll();
-        List<UserDto> userDtos = users.stream()
-                .map(userMapper::toDto)
-                .collect(Collectors.toList());
+            List<UserDto> userDtos = userMapper.toDtos(userRepository.findAll());
         
-        logger.info("Retrieved {} users", userDtos.size());
-        return userDtos;
+            logger.info("Retrieved {} users", userDtos.size());
+            event.setCount(userDtos.size());
+            event.succeeded();
+            return userDtos;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
-     * Retrieve a user by their ID.
+     * Retrieve a user by their ID, from the {@link UserCache} when it holds the user.
+     * IDs the {@link UserNegativeCache} knows to be missing are rejected without a database query,
+     * and IDs the database does not hold are remembered there.
      * 
      * @param id the user ID to search for
      * @return the user as DTO
@@ -83,16 +182,42 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public UserDto getUserById(Long id) {
-        logger.info("Retrieving user with ID: {}", id);
-        
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> {
-                    logger.warn("User not found with ID: {}", id);
-                    return new UserNotFoundException("User not found with ID: " + id);
-                });
+        UserOperationEvent event = UserOperationEvent.start("get");
+        try {
+            logger.info("Retrieving user with ID: {}", id);
+            event.setUserId(id);
+
+            if (userNegativeCache.isKnownMissing(id)) {
+                logger.warn("User not found with ID: {}", id);
+                throw new UserNotFoundException("User not found with ID: " + id);
+            }
+
+            UserDto cached = userCache.get(id);
+            if (cached != null) {
+                logger.info("User retrieved from cache: {}", cached.email());
+                event.setCount(1);
+                event.succeeded();
+                return cached;
+            }
+
+            long stamp = userCache.stamp();
+            long missingStamp = userNegativeCache.stamp();
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> {
+                        userNegativeCache.recordMissing(id, missingStamp);
+                        logger.warn("User not found with ID: {}", id);
+                        return new UserNotFoundException("User not found with ID: " + id);
+                    });
         
-        logger.info("User retrieved successfully: {}", user.getEmail());
-        return userMapper.toDto(user);
+            logger.info("User retrieved successfully: {}", user.getEmail());
+            UserDto userDto = userMapper.toDto(user);
+            userCache.put(userDto, stamp);
+            event.setCount(1);
+            event.succeeded();
+            return userDto;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
@@ -105,28 +230,40 @@ public class UserService {
      * @throws UserAlreadyExistsException if email is already taken by another user
      */
     public UserDto updateUser(Long id, UserDto userDto) {
-        logger.info("Updating user with ID: {}", id);
+        UserOperationEvent event = UserOperationEvent.start("update");
+        try {
+            logger.info("Updating user with ID: {}", id);
+            event.setUserId(id);
         
-        User existingUser = userRepository.findById(id)
-                .orElseThrow(() -> {
-                    logger.warn("User not found for update with ID: {}", id);
-                    return new UserNotFoundException("User not found with ID: " + id);
-                });
-
-        if (!existingUser.getEmail().equals(userDto.getEmail()) && 
-            userRepository.existsByEmail(userDto.getEmail())) {
-            logger.warn("User update failed - email already exists: {}", userDto.getEmail());
-            throw new UserAlreadyExistsException("User with email " + userDto.getEmail() + " already exists");
-        }
+            User existingUser = userRepository.findById(id)
+                    .orElseThrow(() -> {
+                        logger.warn("User not found for update with ID: {}", id);
+                        return new UserNotFoundException("User not found with ID: " + id);
+                    });
+
+            boolean emailChanged = !existingUser.getEmail().equals(userDto.email());
+            if (emailChanged && isEmailTaken(userDto.email())) {
+                logger.warn("User update failed - email already exists: {}", userDto.email());
+                throw new UserAlreadyExistsException("User with email " + userDto.email() + " already exists");
+            }
 
-        existingUser.setName(userDto.getName());
-        existingUser.setEmail(userDto.getEmail());
-        existingUser.setAge(userDto.getAge());
+            existingUser.setName(userDto.name());
+            existingUser.setEmail(userDto.email());
+            existingUser.setAge(userDto.age());
         
-        User updatedUser = userRepository.save(existingUser);
+            User updatedUser = userRepository.save(existingUser);
+            userChangeRepository.save(UserChange.of(UserChange.Type.UPDATED, updatedUser));
+            userCache.invalidate(id);
+            if (emailChanged) {
+                userNegativeCache.recordUser(id, updatedUser.getEmail());
+            }
         
-        logger.info("User updated successfully with ID: {}", updatedUser.getId());
-        return userMapper.toDto(updatedUser);
+            logger.info("User updated successfully with ID: {}", updatedUser.getId());
+            event.succeeded();
+            return userMapper.toDto(updatedUser);
+        } finally {
+            event.commit();
+        }
     }
 
     /**
@@ -136,14 +273,41 @@ public class UserService {
      * @throws UserNotFoundException if user is not found
      */
     public void deleteUser(Long id) {
-        logger.info("Deleting user with ID: {}", id);
+        UserOperationEvent event = UserOperationEvent.start("delete");
+        try {
+            logger.info("Deleting user with ID: {}", id);
+            event.setUserId(id);
         
-        if (!userRepository.existsById(id)) {
-            logger.warn("User not found for deletion with ID: {}", id);
-            throw new UserNotFoundException("User not found with ID: " + id);
+            if (!userRepository.existsById(id)) {
+                logger.warn("User not found for deletion with ID: {}", id);
+                throw new UserNotFoundException("User not found with ID: " + id);
+            }
+
+            userRepository.deleteById(id);
+            userChangeRepository.save(UserChange.deleted(id));
+            userCache.invalidate(id);
+            logger.info("User deleted successfully with ID: {}", id);
+            event.succeeded();
+        } finally {
+            event.commit();
         }
+    }
 
-        userRepository.deleteById(id);
-        logger.info("User deleted successfully with ID: {}", id);
+    /**
+     * Check whether an email belongs to an existing user, skipping the query when the
+     * {@link UserNegativeCache} knows the email is free.
+     *
+     * @param email the email to check
+     * @return true if a user has the email
+     */
+    private boolean isEmailTaken(String email) {
+        if (userNegativeCache.isEmailFree(email)) {
+            return false;
+        }
+        boolean taken = userRepository.existsByEmail(email);
+        if (!taken) {
+            userNegativeCache.recordEmailFalsePositive();
+        }
+        return taken;
     }
 }
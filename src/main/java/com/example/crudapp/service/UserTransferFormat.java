@@ -0,0 +1,55 @@
+package com.example.crudapp.service;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Line-oriented formats for bulk import and export of users.
+ * CSV starts with a header naming the columns; NDJSON holds one JSON object per line.
+ */
+public enum UserTransferFormat {
+
+    CSV(MediaType.parseMediaType("text/csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    UserTransferFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param mediaType the content type of a request body
+     * @return the matching format, or null if there is none
+     */
+    public static UserTransferFormat forMediaType(MediaType mediaType) {
+        for (UserTransferFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(mediaType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param name a format name such as {@code csv}, in any case
+     * @return the matching format, or null if there is none
+     */
+    public static UserTransferFormat forName(String name) {
+        for (UserTransferFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,409 @@
+package com.example.crudapp.service;
+
+import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.dto.UserImportResultDto;
+import com.example.crudapp.exception.UserAlreadyExistsException;
+import com.example.crudapp.repository.UserRepository;
+import com.example.crudapp.validation.UserDtoValidator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SimpleErrors;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Bulk import and export of users as CSV or NDJSON, streamed a line at a time so that neither
+ * holds the whole file in memory.
+ * An import validates each record as {@code POST /api/users} does and creates users in batches through
+ * {@link UserService#createUsers}, one transaction per batch. A batch that hits the unique email constraint,
+ * because a concurrent write took one of its emails, is retried one user at a time. A record that fails
+ * is reported by line and the rest of the file carries on. An export reads the table in ID order through
+ * {@link UserRepository#streamAllOrderedById()} in one read-only transaction.
+ * Only a few transfers run at once, since each holds a request thread, and an export a connection,
+ * for as long as the file takes.
+ */
+@Service
+public class UserTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserTransferService.class);
+    private static final String CSV_HEADER = "id,name,email,age";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final UserDtoValidator userDtoValidator;
+    private final ObjectReader userReader;
+    private final ObjectWriter userWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore permits;
+    private final int batchSize;
+    private final int maxErrors;
+
+    @Autowired
+    public UserTransferService(UserService userService, UserRepository userRepository,
+                               UserDtoValidator userDtoValidator, ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${users.transfer.max-concurrent:2}") int maxConcurrent,
+                               @Value("${users.transfer.batch-size:1000}") int batchSize,
+                               @Value("${users.transfer.max-errors:1000}") int maxErrors) {
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.userDtoValidator = userDtoValidator;
+        this.userReader = objectMapper.readerFor(UserDto.class);
+        this.userWriter = objectMapper.writerFor(UserDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.permits = new Semaphore(maxConcurrent);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Opens the stream an export is written to, once the export has been admitted.
+     */
+    @FunctionalInterface
+    public interface ExportTarget {
+
+        OutputStream open() throws IOException;
+    }
+
+    /**
+     * Create users from a CSV or NDJSON body. A CSV body starts with a header naming at least the
+     * {@code name}, {@code email} and {@code age} columns; an {@code id} column is ignored, so an
+     * export can be imported as is. Blank lines are skipped.
+     *
+     * @param body the request body, read to the end
+     * @param format the body's format
+     * @return how many users were created, and why the others were not
+     * @throws ResponseStatusException with 400 if a CSV header lacks a required column,
+     *         or 503 if too many transfers are running
+     */
+    public UserImportResultDto importUsers(InputStream body, UserTransferFormat format) throws IOException {
+        acquire();
+        try {
+            long start = System.nanoTime();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), BUFFER_SIZE);
+            ImportRun run = new ImportRun(batchSize, maxErrors);
+            long lineNumber = 1;
+            String line = reader.readLine();
+            CsvColumns columns = null;
+            if (format == UserTransferFormat.CSV && line != null) {
+                columns = CsvColumns.of(parseCsvLine(line));
+                line = reader.readLine();
+                lineNumber++;
+            }
+            for (; line != null; line = reader.readLine(), lineNumber++) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.records++;
+                UserDto user;
+                try {
+                    user = format == UserTransferFormat.CSV ? parseCsvUser(line, columns) : parseJsonUser(line);
+                } catch (MalformedRecordException e) {
+                    run.reject(lineNumber, e.getMessage());
+                    continue;
+                }
+                String invalid = validate(user);
+                if (invalid != null) {
+                    run.reject(lineNumber, invalid);
+                    continue;
+                }
+                if (run.add(user, lineNumber)) {
+                    createBatch(run);
+                }
+            }
+            createBatch(run);
+
+            logger.info("Imported {} of {} users in {} ms, {} rejected", run.imported, run.records,
+                    (System.nanoTime() - start) / 1_000_000, run.rejected);
+            return run.result();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Write every user in ID order. A CSV export starts with an {@code id,name,email,age} header.
+     *
+     * @param format the format to write
+     * @param target opens the stream to write to; it is flushed but not closed
+     * @return the number of users written
+     * @throws ResponseStatusException with 503 if too many transfers are running
+     */
+    public long exportUsers(UserTransferFormat format, ExportTarget target) throws IOException {
+        acquire();
+        try {
+            long start = System.nanoTime();
+            OutputStream out = target.open();
+            long exported = readOnlyTransaction.execute(status -> {
+                try (Stream<UserDto> users = userRepository.streamAllOrderedById()) {
+                    return format == UserTransferFormat.CSV ? writeCsv(users, out) : writeNdjson(users, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            logger.info("Exported {} users as {} in {} ms", exported, format,
+                    (System.nanoTime() - start) / 1_000_000);
+            return exported;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        if (!permits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many bulk transfers in progress, please retry later");
+        }
+    }
+
+    private void createBatch(ImportRun run) {
+        if (run.batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<UserDto> created = userService.createUsers(run.batch);
+            for (int i = 0; i < created.size(); i++) {
+                if (created.get(i) == null) {
+                    run.reject(run.batchLines[i], "User with email " + run.batch.get(i).email() + " already exists");
+                } else {
+                    run.imported++;
+                }
+            }
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Import batch of {} users conflicted, retrying one at a time", run.batch.size());
+            for (int i = 0; i < run.batch.size(); i++) {
+                createOne(run, run.batch.get(i), run.batchLines[i]);
+            }
+        }
+        run.batch.clear();
+    }
+
+    private void createOne(ImportRun run, UserDto user, long line) {
+        try {
+            userService.createUser(user);
+            run.imported++;
+        } catch (UserAlreadyExistsException | DataIntegrityViolationException e) {
+            run.reject(line, "User with email " + user.email() + " already exists");
+        }
+    }
+
+    private String validate(UserDto user) {
+        Errors errors = new SimpleErrors(user, "userDto");
+        userDtoValidator.validate(user, errors);
+        if (!errors.hasErrors()) {
+            return null;
+        }
+        StringJoiner messages = new StringJoiner("; ");
+        for (FieldError error : errors.getFieldErrors()) {
+            messages.add(error.getDefaultMessage());
+        }
+        return messages.toString();
+    }
+
+    private UserDto parseJsonUser(String line) {
+        UserDto user;
+        try {
+            user = userReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new MalformedRecordException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (user == null) {
+            throw new MalformedRecordException("Expected a JSON object");
+        }
+        return new UserDto(null, user.name(), user.email(), user.age());
+    }
+
+    private static UserDto parseCsvUser(String line, CsvColumns columns) {
+        List<String> fields = parseCsvLine(line);
+        if (fields.size() != columns.count()) {
+            throw new MalformedRecordException("Expected " + columns.count() + " fields but found " + fields.size());
+        }
+        String age = fields.get(columns.age()).trim();
+        try {
+            return new UserDto(null, fields.get(columns.name()), fields.get(columns.email()),
+                    age.isEmpty() ? null : Integer.valueOf(age));
+        } catch (NumberFormatException e) {
+            throw new MalformedRecordException("Age must be a whole number");
+        }
+    }
+
+    /**
+     * Split a CSV line into fields. Fields may be quoted, with {@code ""} standing for a quote
+     * inside a quoted field; a quoted field cannot span lines.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new MalformedRecordException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static String formatCsvField(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+
+    private static long writeCsv(Stream<UserDto> users, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = 0;
+        for (Iterator<UserDto> it = users.iterator(); it.hasNext(); count++) {
+            UserDto user = it.next();
+            writer.write(Long.toString(user.id()));
+            writer.write(',');
+            writer.write(formatCsvField(user.name()));
+            writer.write(',');
+            writer.write(formatCsvField(user.email()));
+            writer.write(',');
+            writer.write(Integer.toString(user.age()));
+            writer.write('\n');
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long writeNdjson(Stream<UserDto> users, OutputStream out) throws IOException {
+        JsonGenerator generator = userWriter.createGenerator(out);
+        long count = 0;
+        for (Iterator<UserDto> it = users.iterator(); it.hasNext(); count++) {
+            userWriter.writeValue(generator, it.next());
+        }
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return count;
+    }
+
+    private record CsvColumns(int count, int name, int email, int age) {
+
+        static CsvColumns of(List<String> header) {
+            List<String> names = new ArrayList<>(header.size());
+            header.forEach(column -> names.add(column.trim().toLowerCase(Locale.ROOT)));
+            int name = names.indexOf("name");
+            int email = names.indexOf("email");
+            int age = names.indexOf("age");
+            if (name < 0 || email < 0 || age < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "CSV header must name the name, email and age columns");
+            }
+            return new CsvColumns(names.size(), name, email, age);
+        }
+    }
+
+    private static final class ImportRun {
+
+        final List<UserDto> batch;
+        final long[] batchLines;
+        final List<UserImportResultDto.LineError> errors = new ArrayList<>();
+        final int maxErrors;
+        long records;
+        long imported;
+        long rejected;
+
+        ImportRun(int batchSize, int maxErrors) {
+            this.batch = new ArrayList<>(batchSize);
+            this.batchLines = new long[batchSize];
+            this.maxErrors = maxErrors;
+        }
+
+        /**
+         * @return true if the batch is now full
+         */
+        boolean add(UserDto user, long line) {
+            batchLines[batch.size()] = line;
+            batch.add(user);
+            return batch.size() == batchLines.length;
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(new UserImportResultDto.LineError(line, message));
+            }
+        }
+
+        UserImportResultDto result() {
+            return new UserImportResultDto(records, imported, rejected, List.copyOf(errors), rejected > errors.size());
+        }
+    }
+
+    /**
+     * A record that cannot be read as a user. Reported against its line, so no stack trace is captured.
+     */
+    private static final class MalformedRecordException extends RuntimeException {
+
+        MalformedRecordException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package com.example.crudapp.service;
 
+import com.example.crudapp.cache.CompactForecast;
+import com.example.crudapp.cache.ForecastCache;
+import com.example.crudapp.cache.ForecastRefreshedEvent;
+import com.example.crudapp.dto.WeatherCondition;
 import com.example.crudapp.dto.WeatherDto;
+import com.example.crudapp.exception.InvalidZipCodeException;
+import com.example.crudapp.profiling.ForecastLoadEvent;
+import com.example.crudapp.profiling.UpstreamCallEvent;
+import com.example.crudapp.tracing.SampledSpans;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
@@ -13,17 +24,24 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.regex.Pattern;
 
 /**
  * Service class for Weather operations.
  * Handles integration with external weather APIs and provides weather forecast data.
+ * In sampled requests, cache lookups and provider calls are traced as {@code weather.cache.lookup}
+ * and {@code weather.provider.call} spans.
  */
 @Service
 public class WeatherService {
 
     private static final Logger logger = LoggerFactory.getLogger(WeatherService.class);
+    private static final Pattern ZIP_CODE = Pattern.compile("\\d{5}(-\\d{4})?");
 
     private final RestTemplate restTemplate;
+    private final ForecastCache forecastCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SampledSpans sampledSpans;
     private final Random random = new Random();
 
     @Value("${weather.api.key:demo}")
@@ -32,8 +50,13 @@ public class WeatherService {
     @Value("${weather.api.url:https://api.openweathermap.org/data/2.5}")
     private String apiUrl;
 
-    public WeatherService() {
+    @Autowired
+    public WeatherService(ForecastCache forecastCache, ApplicationEventPublisher eventPublisher,
+                          SampledSpans sampledSpans) {
         this.restTemplate = new RestTemplate();
+        this.forecastCache = forecastCache;
+        this.eventPublisher = eventPublisher;
+        this.sampledSpans = sampledSpans;
     }
 
     /**
@@ -43,37 +66,67 @@ public class WeatherService {
      * @return WeatherDto containing 7-day forecast
      * @throws IllegalArgumentException if zip code is invalid
      */
-    @Cacheable(value = "weather-cache", key = "#zipCode")
     public WeatherDto getSevenDayForecast(String zipCode) {
-        logger.info("Fetching 7-day weather forecast for zip code: {}", zipCode);
+        return getCompactForecast(zipCode).toDto();
+    }
+
+    /**
+     * Get 7-day weather forecast for a given zip code in its cached, compact form.
+     * Serializing the result produces the same JSON as the {@link WeatherDto} without materializing it.
+     * A freshly fetched forecast is announced with a {@link ForecastRefreshedEvent}.
+     * Surrounding whitespace is trimmed, so {@code " 10001"} and {@code "10001"} share one cache entry.
+     * 
+     * @param requestedZipCode the zip code to get weather for
+     * @return CompactForecast containing 7-day forecast
+     * @throws IllegalArgumentException if zip code is invalid
+     */
+    public CompactForecast getCompactForecast(String requestedZipCode) {
+        logger.info("Fetching 7-day weather forecast for zip code: {}", requestedZipCode);
         
-        validateZipCode(zipCode);
+        String zipCode = normalizeZipCode(requestedZipCode);
+
+        Span lookup = sampledSpans.startChild("weather.cache.lookup");
+        CompactForecast cached = forecastCache.get(zipCode);
+        lookup.tag("hit", cached != null).end();
+        if (cached != null) {
+            logger.debug("Weather cache hit for zip code: {}", zipCode);
+            return cached;
+        }
         
+        ForecastLoadEvent loadEvent = ForecastLoadEvent.start(zipCode);
+        CompactForecast refreshed;
         try {
             WeatherDto weatherData = fetchWeatherData(zipCode);
             logger.info("Successfully retrieved weather forecast for zip code: {}", zipCode);
-            return weatherData;
+            refreshed = forecastCache.put(zipCode, weatherData);
         } catch (RestClientException e) {
             logger.error("Failed to fetch weather data for zip code: {}", zipCode, e);
-            return generateMockWeatherData(zipCode);
+            loadEvent.fallback();
+            refreshed = forecastCache.putFallback(zipCode, generateMockWeatherData(zipCode));
         }
+        loadEvent.commit();
+        eventPublisher.publishEvent(new ForecastRefreshedEvent(zipCode, refreshed));
+        return refreshed;
     }
 
     /**
      * Validates the zip code format.
+     * The result is the key forecasts are cached and announced under.
      * 
      * @param zipCode the zip code to validate
+     * @return the zip code without surrounding whitespace
      * @throws IllegalArgumentException if zip code is invalid
      */
-    private void validateZipCode(String zipCode) {
+    public String normalizeZipCode(String zipCode) {
         if (zipCode == null || zipCode.trim().isEmpty()) {
-            throw new IllegalArgumentException("Zip code cannot be null or empty");
+            throw new InvalidZipCodeException("Zip code cannot be null or empty");
         }
         
         String cleanZipCode = zipCode.trim();
-        if (!cleanZipCode.matches("^\\d{5}(-\\d{4})?$")) {
-            throw new IllegalArgumentException("Invalid zip code format. Expected format: 12345 or 12345-6789");
+        if (!ZIP_CODE.matcher(cleanZipCode).matches()) {
+            throw new InvalidZipCodeException("Invalid zip code format. Expected format: 12345 or 12345-6789");
         }
+        return cleanZipCode;
     }
 
     /**
@@ -86,7 +139,21 @@ public class WeatherService {
     private WeatherDto fetchWeatherData(String zipCode) {
         logger.info("Attempting to fetch weather data from external API for zip code: {}", zipCode);
         
-        return generateMockWeatherData(zipCode);
+        UpstreamCallEvent callEvent = UpstreamCallEvent.start("weather-api", zipCode);
+        Span span = sampledSpans.startChild("weather.provider.call")
+                .tag("service", "weather-api")
+                .tag("zip.code", zipCode);
+        try (Tracer.SpanInScope scope = sampledSpans.inScope(span)) {
+            WeatherDto weatherData = generateMockWeatherData(zipCode);
+            callEvent.succeeded();
+            return weatherData;
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+            callEvent.commit();
+        }
     }
 
     /**
@@ -102,14 +169,11 @@ public class WeatherService {
         String location = getLocationFromZipCode(zipCode);
         List<WeatherDto.DailyForecast> forecast = new ArrayList<>();
         
-        String[] weatherDescriptions = {
-            "Sunny", "Partly Cloudy", "Cloudy", "Light Rain", 
-            "Heavy Rain", "Thunderstorms", "Snow"
-        };
+        WeatherCondition[] weatherConditions = WeatherCondition.values();
         
         for (int i = 0; i < 7; i++) {
             LocalDate date = LocalDate.now().plusDays(i);
-            String description = weatherDescriptions[random.nextInt(weatherDescriptions.length)];
+            String description = weatherConditions[random.nextInt(weatherConditions.length)].getLabel();
             double tempHigh = 60 + random.nextDouble() * 40;
             double tempLow = tempHigh - 10 - random.nextDouble() * 15;
             int humidity = 30 + random.nextInt(50);
@@ -0,0 +1,213 @@
+package com.example.crudapp.stream;
+
+import com.example.crudapp.cache.CompactForecast;
+import com.example.crudapp.cache.ForecastRefreshedEvent;
+import com.example.crudapp.service.WeatherService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans out forecast refreshes to Server-Sent Events subscribers, grouped by zip code.
+ * Each refresh is serialized and framed once and offered to every subscriber of its zip code. Subscribers
+ * hold a small bounded buffer drained by a shared pool of sender threads; a subscriber whose
+ * buffer is full is too slow to keep up and is disconnected instead of buffering more.
+ * Idle subscribers hold no thread, only their emitter and buffer.
+ */
+@Component
+public class ForecastStreamBroker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForecastStreamBroker.class);
+
+    private static final String FORECAST_EVENT = "forecast";
+
+    private final WeatherService weatherService;
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders;
+    private final long timeoutMillis;
+    private final int bufferSize;
+
+    @Autowired
+    public ForecastStreamBroker(WeatherService weatherService,
+                                @Value("${weather.stream.timeout:PT30M}") Duration timeout,
+                                @Value("${weather.stream.buffer-size:4}") int bufferSize,
+                                @Value("${weather.stream.sender-threads:4}") int senderThreads) {
+        this.weatherService = weatherService;
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "forecast-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Subscribe to forecast updates for a zip code, starting with the current forecast.
+     *
+     * @param zipCode the zip code to subscribe to
+     * @param current the forecast to send immediately
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(String zipCode, CompactForecast current) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(zipCode, emitter, bufferSize);
+        subscribers.compute(zipCode, (key, zipSubscribers) -> {
+            Set<Subscriber> updated = zipSubscribers != null ? zipSubscribers : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        offer(subscriber, forecastEvent(current));
+        return emitter;
+    }
+
+    /**
+     * Push a refreshed forecast to every subscriber of its zip code.
+     *
+     * @param event the refresh event
+     */
+    @EventListener
+    public void onForecastRefreshed(ForecastRefreshedEvent event) {
+        Set<Subscriber> zipSubscribers = subscribers.get(event.zipCode());
+        if (zipSubscribers == null || zipSubscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> forecastEvent = forecastEvent(event.forecast());
+        for (Subscriber subscriber : zipSubscribers) {
+            offer(subscriber, forecastEvent);
+        }
+        logger.debug("Pushed forecast for zip code {} to {} subscribers", event.zipCode(), zipSubscribers.size());
+    }
+
+    /**
+     * Re-read the forecast of every subscribed zip code, so expired forecasts are refreshed
+     * and pushed even when nobody polls the REST endpoint.
+     */
+    @Scheduled(fixedDelayString = "${weather.stream.refresh-interval:PT1M}")
+    public void refreshSubscribedForecasts() {
+        for (String zipCode : subscribers.keySet()) {
+            try {
+                weatherService.getCompactForecast(zipCode);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to refresh streamed forecast for zip code {}: {}", zipCode, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Send a comment line to every subscriber so intermediaries keep idle connections open
+     * and disconnected clients are detected.
+     */
+    @Scheduled(fixedDelayString = "${weather.stream.heartbeat-interval:PT30S}")
+    public void sendHeartbeats() {
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        subscribers.values().forEach(zipSubscribers -> zipSubscribers.forEach(subscriber -> offer(subscriber, heartbeat)));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(zipSubscribers -> zipSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private void offer(Subscriber subscriber, Set<DataWithMediaType> event) {
+        if (!subscriber.pending.offer(event)) {
+            logger.info("Dropping slow forecast stream subscriber for zip code {}", subscriber.zipCode);
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        Set<DataWithMediaType> event;
+        while ((event = subscriber.pending.poll()) != null) {
+            try {
+                subscriber.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(subscriber);
+                subscriber.pending.clear();
+                break;
+            }
+        }
+        subscriber.sending.set(false);
+        if (!subscriber.pending.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Remove a subscriber, and its zip code once it has none left. Adding and removing both run inside
+     * the map's per-key compute, so a subscriber joining as the last one leaves is never added to a set
+     * that has already been removed from the map.
+     */
+    private void unsubscribe(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        subscribers.computeIfPresent(subscriber.zipCode, (key, zipSubscribers) -> {
+            removed.set(zipSubscribers.remove(subscriber));
+            return zipSubscribers.isEmpty() ? null : zipSubscribers;
+        });
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private static Set<DataWithMediaType> forecastEvent(CompactForecast forecast) {
+        return SseEmitter.event()
+                .name(FORECAST_EVENT)
+                .data(new String(forecast.getJson(), StandardCharsets.UTF_8), MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private static final class Subscriber {
+
+        private final String zipCode;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> pending;
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscriber(String zipCode, SseEmitter emitter, int bufferSize) {
+            this.zipCode = zipCode;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
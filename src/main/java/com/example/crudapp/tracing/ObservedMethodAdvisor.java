@@ -0,0 +1,63 @@
+package com.example.crudapp.tracing;
+
+import io.micrometer.observation.annotation.Observed;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Traces the public methods of {@link Observed} classes, and {@link Observed} methods, as spans named
+ * {@code Class#method}, or the annotation's contextual name if it has one.
+ * Used instead of Micrometer's {@code ObservedAspect}, whose AspectJ pointcut is evaluated again on every
+ * call and which also records timers for every method; this advisor's pointcut is matched once when the
+ * proxy is created and only sampled requests get spans.
+ */
+public class ObservedMethodAdvisor extends StaticMethodMatcherPointcutAdvisor {
+
+    public ObservedMethodAdvisor(SampledSpans sampledSpans) {
+        super(new ObservedMethodInterceptor(sampledSpans));
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        return Modifier.isPublic(method.getModifiers())
+                && method.getDeclaringClass() != Object.class
+                && findObserved(method, targetClass) != null;
+    }
+
+    static Observed findObserved(Method method, Class<?> targetClass) {
+        Observed observed = AnnotatedElementUtils.findMergedAnnotation(method, Observed.class);
+        return observed != null ? observed : AnnotatedElementUtils.findMergedAnnotation(targetClass, Observed.class);
+    }
+
+    static String spanName(Method method, Class<?> targetClass) {
+        Observed observed = findObserved(method, targetClass);
+        return observed != null && !observed.contextualName().isEmpty()
+                ? observed.contextualName()
+                : targetClass.getSimpleName() + "#" + method.getName();
+    }
+
+    private static final class ObservedMethodInterceptor implements MethodInterceptor {
+
+        private final SampledSpans sampledSpans;
+        private final Map<Method, String> spanNames = new ConcurrentHashMap<>();
+
+        ObservedMethodInterceptor(SampledSpans sampledSpans) {
+            this.sampledSpans = sampledSpans;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            String spanName = spanNames.computeIfAbsent(invocation.getMethod(),
+                    method -> spanName(method, AopUtils.getTargetClass(invocation.getThis())));
+            return sampledSpans.proceedInSpan(spanName, invocation);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.crudapp.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Traces every Spring Data repository call as a span named {@code Repository#method}, so a trace
+ * shows each query a request issued underneath the service span that made it.
+ */
+public class RepositorySpanInterceptor implements MethodInterceptor {
+
+    private final SampledSpans sampledSpans;
+    private final String repositoryName;
+    private final Map<Method, String> spanNames = new ConcurrentHashMap<>();
+
+    public RepositorySpanInterceptor(SampledSpans sampledSpans, Class<?> repositoryInterface) {
+        this.sampledSpans = sampledSpans;
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String spanName = spanNames.computeIfAbsent(invocation.getMethod(),
+                method -> repositoryName + "#" + method.getName());
+        return sampledSpans.proceedInSpan(spanName, invocation);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.crudapp.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Starts child spans of the current request span, but only for requests the sampler kept.
+ * An unsampled request gets {@link Span#NOOP} and no scope, so the fine-grained spans cost a
+ * thread-local lookup per call instead of an ID, a context and a scope change each; that keeps the
+ * overhead of tracing proportional to {@code management.tracing.sampling.probability}.
+ * The tracer is resolved on first use because proxies are created before tracing is configured.
+ */
+public class SampledSpans {
+
+    private static final Tracer.SpanInScope NO_SCOPE = () -> { };
+
+    private final ObjectProvider<Tracer> tracer;
+
+    public SampledSpans(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Start a child span of the current span.
+     *
+     * @param name the span name
+     * @return the started span, or {@link Span#NOOP} if there is no current span or it is not sampled
+     */
+    public Span startChild(String name) {
+        Tracer current = tracer.getIfAvailable();
+        if (current == null) {
+            return Span.NOOP;
+        }
+        Span parent = current.currentSpan();
+        if (parent == null || !Boolean.TRUE.equals(parent.context().sampled())) {
+            return Span.NOOP;
+        }
+        return current.nextSpan(parent).name(name).start();
+    }
+
+    /**
+     * Make a span the current span until the returned scope is closed.
+     *
+     * @param span a span returned by {@link #startChild(String)}
+     * @return the scope to close, which does nothing for {@link Span#NOOP}
+     */
+    public Tracer.SpanInScope inScope(Span span) {
+        Tracer current = tracer.getIfAvailable();
+        return span == Span.NOOP || current == null ? NO_SCOPE : current.withSpan(span);
+    }
+
+    /**
+     * Proceed with a method invocation inside a child span that records any exception it throws.
+     *
+     * @param name the span name
+     * @param invocation the invocation to proceed with
+     * @return the invocation's result
+     */
+    public Object proceedInSpan(String name, MethodInvocation invocation) throws Throwable {
+        Span span = startChild(name);
+        if (span == Span.NOOP) {
+            return invocation.proceed();
+        }
+        try (Tracer.SpanInScope scope = inScope(span)) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.crudapp.validation;
+
+import com.example.crudapp.dto.UserDto;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import java.net.IDN;
+import java.util.regex.Pattern;
+
+/**
+ * Hand-written validator for {@link UserDto}.
+ * Applies the same rules and messages as the Jakarta constraints declared on UserDto with
+ * plain field checks instead of reflective constraint evaluation. Checks on each field stop at
+ * the first failure, so an empty email is reported as required rather than also as malformed.
+ * Keep this class in sync with the annotations on UserDto.
+ * <p>
+ * The email rule reproduces the checks Hibernate Validator applies for {@code @Email}: a dot-separated
+ * local part of at most 64 characters, in which each part is either unquoted or quoted, and a domain of
+ * dot-separated labels that is at most 255 characters once converted to ASCII, or a bracketed IPv4 or
+ * {@code IPv6:} address literal.
+ */
+@Component
+public class UserDtoValidator implements Validator {
+
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+    private static final int MAX_DOMAIN_LENGTH = 255;
+
+    private static final String LOCAL_PART_ATOM = "[a-z0-9!#$%&'*+/=?^_`{|}~\\u0080-\\uFFFF-]";
+    private static final String LOCAL_PART_INSIDE_QUOTES_ATOM =
+            "(?:[a-z0-9!#$%&'*.(),<>\\[\\]:;  @+/=?^_`{|}~\\u0080-\\uFFFF-]|\\\\\\\\|\\\\\")";
+    private static final Pattern LOCAL_PART_PATTERN = Pattern.compile(
+            "(?:" + LOCAL_PART_ATOM + "+|\"" + LOCAL_PART_INSIDE_QUOTES_ATOM + "+\")"
+                    + "(?:\\.(?:" + LOCAL_PART_ATOM + "+|\"" + LOCAL_PART_INSIDE_QUOTES_ATOM + "+\"))*",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final String DOMAIN_CHARS_WITHOUT_DASH = "[a-z\\u0080-\\uFFFF0-9!#$%&'*+/=?^_`{|}~]";
+    private static final String DOMAIN_LABEL =
+            DOMAIN_CHARS_WITHOUT_DASH + "+(?:-+" + DOMAIN_CHARS_WITHOUT_DASH + "+)*";
+    private static final Pattern DOMAIN_PATTERN = Pattern.compile(
+            DOMAIN_LABEL + "(?:\\." + DOMAIN_LABEL + ")*", Pattern.CASE_INSENSITIVE);
+    private static final Pattern IP_LITERAL_PATTERN = Pattern.compile(
+            "\\[(?:[0-9]{1,3}(?:\\.[0-9]{1,3}){3}|IPv6:[0-9a-f]{0,4}(?::[0-9a-f]{0,4}){2,7})]", Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return UserDto.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        UserDto userDto = (UserDto) target;
+
+        if (isBlank(userDto.name())) {
+            errors.rejectValue("name", "NotBlank", "Name is required");
+        }
+
+        String email = userDto.email();
+        if (isBlank(email)) {
+            errors.rejectValue("email", "NotBlank", "Email is required");
+        } else if (!isValidEmail(email)) {
+            errors.rejectValue("email", "Email", "Email should be valid");
+        }
+
+        Integer age = userDto.age();
+        if (age == null) {
+            errors.rejectValue("age", "NotNull", "Age is required");
+        } else if (age < 1) {
+            errors.rejectValue("age", "Min", "Age must be greater than 0");
+        }
+    }
+
+    static boolean isValidEmail(String email) {
+        int at = email.lastIndexOf('@');
+        if (at < 0) {
+            return false;
+        }
+        String localPart = email.substring(0, at);
+        String domain = email.substring(at + 1);
+        return localPart.length() <= MAX_LOCAL_PART_LENGTH
+                && LOCAL_PART_PATTERN.matcher(localPart).matches()
+                && isValidDomain(domain);
+    }
+
+    private static boolean isValidDomain(String domain) {
+        if (domain.startsWith("[")) {
+            return IP_LITERAL_PATTERN.matcher(domain).matches();
+        }
+        if (domain.endsWith(".")) {
+            return false;
+        }
+        try {
+            return IDN.toASCII(domain).length() <= MAX_DOMAIN_LENGTH && DOMAIN_PATTERN.matcher(domain).matches();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.crudapp.warmup;
+
+import com.example.crudapp.entity.User;
+import com.example.crudapp.repository.UserRepository;
+import com.example.crudapp.service.WeatherService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warms the application up before it reports ready.
+ * Application runners complete before Spring Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC},
+ * so {@code /actuator/health/readiness} stays {@code OUT_OF_SERVICE} until this runner returns.
+ * The warm-up fills the connection pool, primes the forecast cache for the configured hot zip codes,
+ * runs user inserts in transactions that are rolled back, then replays read-only requests against the
+ * local server so lazily initialized beans are created and the request path is JIT-compiled before the
+ * first real client arrives. Replayed requests carry the {@link WarmupToken}, so the rate limiter lets them
+ * through to the real handlers.
+ */
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private final DataSource dataSource;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final WeatherService weatherService;
+    private final Environment environment;
+    private final WarmupToken warmupToken;
+    private final List<String> zipCodes;
+    private final int iterations;
+    private final Duration maxDuration;
+
+    @Autowired
+    public WarmupRunner(DataSource dataSource, UserRepository userRepository,
+                        PlatformTransactionManager transactionManager, WeatherService weatherService,
+                        Environment environment, WarmupToken warmupToken,
+                        @Value("${warmup.zip-codes:}") List<String> zipCodes,
+                        @Value("${warmup.iterations:100}") int iterations,
+                        @Value("${warmup.max-duration:PT15S}") Duration maxDuration) {
+        this.dataSource = dataSource;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.weatherService = weatherService;
+        this.environment = environment;
+        this.warmupToken = warmupToken;
+        this.zipCodes = zipCodes;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        long start = System.nanoTime();
+        int connections = fillConnectionPool();
+        zipCodes.forEach(weatherService::getCompactForecast);
+        long deadlineNanos = start + maxDuration.toNanos();
+        int inserts = rehearseInserts(deadlineNanos);
+        int requests;
+        try {
+            requests = replayRequests(deadlineNanos);
+        } finally {
+            warmupToken.revoke();
+        }
+        logger.info("Warm-up finished in {} ms: {} pooled connections, {} forecasts primed, "
+                        + "{} inserts rolled back, {} requests replayed",
+                (System.nanoTime() - start) / 1_000_000, connections, zipCodes.size(), inserts, requests);
+    }
+
+    /**
+     * Borrow the pool's minimum number of connections at once, so they are all opened now rather than
+     * by the first concurrent requests. A database that cannot be reached fails startup here.
+     *
+     * @return the number of connections opened
+     */
+    int fillConnectionPool() throws SQLException {
+        int target = dataSource instanceof HikariDataSource hikari
+                ? Math.min(hikari.getMinimumIdle(), hikari.getMaximumPoolSize())
+                : 1;
+        List<Connection> borrowed = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                Connection connection = dataSource.getConnection();
+                borrowed.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : borrowed) {
+                connection.close();
+            }
+        }
+        return borrowed.size();
+    }
+
+    /**
+     * Run the user insert path, including the email check, sequence allocation and flush, in transactions
+     * that are always rolled back. The repository is used directly rather than {@code UserService} so
+     * the warm-up does not log user creations that never happened.
+     *
+     * @param deadlineNanos the {@link System#nanoTime()} at which to stop
+     * @return the number of inserts rolled back
+     */
+    int rehearseInserts(long deadlineNanos) {
+        int rehearsed = 0;
+        for (int i = 0; i < iterations && System.nanoTime() < deadlineNanos; i++) {
+            String email = "warmup-" + i + "@warmup.invalid";
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.existsByEmail(email);
+                userRepository.saveAndFlush(new User(null, "Warm-up", email, 30));
+                status.setRollbackOnly();
+            });
+            rehearsed++;
+        }
+        return rehearsed;
+    }
+
+    /**
+     * Replay read-only requests against the local server until the iteration count or deadline is reached.
+     * Responses are discarded; failures are logged and end the replay without failing startup.
+     *
+     * @param deadlineNanos the {@link System#nanoTime()} at which to stop
+     * @return the number of requests sent
+     */
+    int replayRequests(long deadlineNanos) {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null || iterations <= 0) {
+            return 0;
+        }
+        String baseUrl = "http://localhost:" + port + "/api";
+        List<HttpRequest> requests = new ArrayList<>();
+        requests.add(get(baseUrl + "/users/1"));
+        requests.add(get(baseUrl + "/users/changes?limit=1"));
+        requests.add(HttpRequest.newBuilder(URI.create(baseUrl + "/users"))
+                .header("Content-Type", "application/json")
+                .header(WarmupToken.HEADER, warmupToken.value())
+                .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                .build());
+        for (String zipCode : zipCodes) {
+            requests.add(get(baseUrl + "/weather/forecast/" + zipCode));
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        int sent = 0;
+        try {
+            for (int i = 0; i < iterations && System.nanoTime() < deadlineNanos; i++) {
+                for (HttpRequest request : requests) {
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                    sent++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Warm-up requests stopped after {} requests: {}", sent, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return sent;
+    }
+
+    private HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Accept", "application/json")
+                .header(WarmupToken.HEADER, warmupToken.value())
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.crudapp.warmup;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+/**
+ * Random secret that marks the warm-up's own requests, so per-client limits do not turn them away
+ * and the warm-up exercises the real handlers. It is generated at startup, never leaves the process
+ * except on loopback requests to itself, and stops matching once the warm-up has finished.
+ */
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class WarmupToken {
+
+    public static final String HEADER = "X-Warmup-Token";
+
+    private final byte[] value;
+    private volatile boolean revoked;
+
+    public WarmupToken() {
+        byte[] random = new byte[16];
+        new SecureRandom().nextBytes(random);
+        this.value = HexFormat.of().formatHex(random).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public String value() {
+        return new String(value, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @param request the incoming request
+     * @return true if the warm-up is still running and the request carries its token
+     */
+    public boolean matches(HttpServletRequest request) {
+        String header = request.getHeader(HEADER);
+        return !revoked && header != null
+                && MessageDigest.isEqual(value, header.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Stop accepting the token, once the warm-up no longer sends requests.
+     */
+    public void revoke() {
+        revoked = true;
+    }
+}
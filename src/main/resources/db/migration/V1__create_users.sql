@@ -0,0 +1,23 @@
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    age INTEGER NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE user_changes (
+    sequence BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    type VARCHAR(16) NOT NULL,
+    user_id BIGINT NOT NULL,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    age INTEGER,
+    occurred_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_user_changes PRIMARY KEY (sequence)
+);
+
+CREATE INDEX idx_user_changes_occurred_at ON user_changes (occurred_at);
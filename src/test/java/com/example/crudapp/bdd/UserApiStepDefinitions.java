@@ -7,6 +7,8 @@ import io.cucumber.java.Before;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
@@ -34,6 +36,9 @@ public class UserApiStepDefinitions {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private ResponseEntity<String> lastResponse;
     private UserDto createdUser;
     private Long currentUserId;
@@ -41,6 +46,7 @@ public class UserApiStepDefinitions {
     @Before
     public void setUp() {
         jdbcTemplate.execute("DELETE FROM users");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
     }
 
     private String getBaseUrl() {
@@ -59,16 +65,13 @@ public class UserApiStepDefinitions {
 
     @When("I create a user with name {string}, email {string}, and age {int}")
     public void iCreateAUserWithNameEmailAndAge(String name, String email, int age) {
-        UserDto userDto = new UserDto();
-        userDto.setName(name);
-        userDto.setEmail(email);
-        userDto.setAge(age);
+        UserDto userDto = new UserDto(null, name, email, age);
         lastResponse = restTemplate.postForEntity(getBaseUrl(), userDto, String.class);
         
         if (lastResponse.getStatusCode() == HttpStatus.CREATED) {
             try {
                 createdUser = objectMapper.readValue(lastResponse.getBody(), UserDto.class);
-                currentUserId = createdUser.getId();
+                currentUserId = createdUser.id();
             } catch (Exception e) {
                 fail("Failed to parse created user response");
             }
@@ -89,16 +92,13 @@ public class UserApiStepDefinitions {
 
     @Then("the user should have a valid ID")
     public void theUserShouldHaveAValidId() {
-        assertNotNull(createdUser.getId());
-        assertTrue(createdUser.getId() > 0);
+        assertNotNull(createdUser.id());
+        assertTrue(createdUser.id() > 0);
     }
 
     @Given("a user exists with email {string}")
     public void aUserExistsWithEmail(String email) {
-        UserDto userDto = new UserDto();
-        userDto.setName("Existing User");
-        userDto.setEmail(email);
-        userDto.setAge(25);
+        UserDto userDto = new UserDto(null, "Existing User", email, 25);
         ResponseEntity<String> response = restTemplate.postForEntity(getBaseUrl(), userDto, String.class);
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
     }
@@ -130,10 +130,7 @@ public class UserApiStepDefinitions {
     public void usersExistInTheSystem(DataTable dataTable) {
         List<Map<String, String>> users = dataTable.asMaps(String.class, String.class);
         for (Map<String, String> user : users) {
-            UserDto userDto = new UserDto();
-            userDto.setName(user.get("name"));
-            userDto.setEmail(user.get("email"));
-            userDto.setAge(Integer.parseInt(user.get("age")));
+            UserDto userDto = new UserDto(null, user.get("name"), user.get("email"), Integer.parseInt(user.get("age")));
             ResponseEntity<String> response = restTemplate.postForEntity(getBaseUrl(), userDto, String.class);
             assertEquals(HttpStatus.CREATED, response.getStatusCode());
         }
@@ -162,16 +159,13 @@ public class UserApiStepDefinitions {
 
     @Given("a user exists with name {string}, email {string}, and age {int}")
     public void aUserExistsWithNameEmailAndAge(String name, String email, int age) {
-        UserDto userDto = new UserDto();
-        userDto.setName(name);
-        userDto.setEmail(email);
-        userDto.setAge(age);
+        UserDto userDto = new UserDto(null, name, email, age);
         ResponseEntity<String> response = restTemplate.postForEntity(getBaseUrl(), userDto, String.class);
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         
         try {
             createdUser = objectMapper.readValue(response.getBody(), UserDto.class);
-            currentUserId = createdUser.getId();
+            currentUserId = createdUser.id();
         } catch (Exception e) {
             fail("Failed to parse created user response");
         }
@@ -216,10 +210,7 @@ public class UserApiStepDefinitions {
 
     @When("I update the user with name {string}, email {string}, and age {int}")
     public void iUpdateTheUserWithNameEmailAndAge(String name, String email, int age) {
-        UserDto updateDto = new UserDto();
-        updateDto.setName(name);
-        updateDto.setEmail(email);
-        updateDto.setAge(age);
+        UserDto updateDto = new UserDto(null, name, email, age);
         HttpEntity<UserDto> entity = new HttpEntity<>(updateDto);
         lastResponse = restTemplate.exchange(
             getBaseUrl() + "/" + currentUserId,
@@ -256,10 +247,7 @@ public class UserApiStepDefinitions {
                 fail("User with name " + userName + " not found");
             }
             
-            UserDto updateDto = new UserDto();
-            updateDto.setName(userName);
-            updateDto.setEmail(newEmail);
-            updateDto.setAge(25);
+            UserDto updateDto = new UserDto(null, userName, newEmail, 25);
             HttpEntity<UserDto> entity = new HttpEntity<>(updateDto);
             lastResponse = restTemplate.exchange(
                 getBaseUrl() + "/" + userIdToUpdate,
@@ -279,10 +267,7 @@ public class UserApiStepDefinitions {
 
     @When("I update a user with ID {int}")
     public void iUpdateAUserWithId(int userId) {
-        UserDto updateDto = new UserDto();
-        updateDto.setName("Updated Name");
-        updateDto.setEmail("updated@example.com");
-        updateDto.setAge(30);
+        UserDto updateDto = new UserDto(null, "Updated Name", "updated@example.com", 30);
         HttpEntity<UserDto> entity = new HttpEntity<>(updateDto);
         lastResponse = restTemplate.exchange(
             getBaseUrl() + "/" + userId,
@@ -0,0 +1,90 @@
+package com.example.crudapp.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of the email filter in {@link UserNegativeCache}, loaded with 10 million emails
+ * at the default 1% target rate. Setup prints the filter's size and its false-positive rate over
+ * a million emails that were never added. Not run by the test suite; run it with
+ * {@code java -cp <test classpath> com.example.crudapp.cache.BloomFilterBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class BloomFilterBenchmark {
+
+    private static final int EMAILS = 10_000_000;
+    private static final int PROBES = 1_000_000;
+
+    private BloomFilter filter;
+    private String[] present;
+    private String[] absent;
+
+    @Setup
+    public void setUp() {
+        filter = new BloomFilter(EMAILS, 0.01);
+        long start = System.nanoTime();
+        for (int i = 0; i < EMAILS; i++) {
+            filter.put(BloomFilter.hash(email("user", i)));
+        }
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+        present = new String[PROBES];
+        absent = new String[PROBES];
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            present[i] = email("user", i * (EMAILS / PROBES));
+            absent[i] = email("signup", i);
+            if (filter.mightContain(BloomFilter.hash(absent[i]))) {
+                falsePositives++;
+            }
+        }
+        System.out.printf("%n%,d emails: %,d bits (%.1f MB), %d probes, loaded in %d ms, false positives %.3f%%%n",
+                EMAILS, filter.bitSize(), filter.bitSize() / 8 / 1e6, filter.probes(), loadMillis,
+                100.0 * falsePositives / PROBES);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public boolean absentEmail(Cursor cursor) {
+        return filter.mightContain(BloomFilter.hash(absent[cursor.next++ % PROBES]));
+    }
+
+    @Benchmark
+    public boolean presentEmail(Cursor cursor) {
+        return filter.mightContain(BloomFilter.hash(present[cursor.next++ % PROBES]));
+    }
+
+    @Benchmark
+    public long hashOnly(Cursor cursor) {
+        return BloomFilter.hash(absent[cursor.next++ % PROBES]);
+    }
+
+    private static String email(String prefix, int i) {
+        return prefix + i + "@example.com";
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] jmhArgs = new String[args.length + 1];
+        jmhArgs[0] = BloomFilterBenchmark.class.getName();
+        System.arraycopy(args, 0, jmhArgs, 1, args.length);
+        org.openjdk.jmh.Main.main(jmhArgs);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.crudapp.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_AddedValues_AlwaysTrue() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(BloomFilter.hash(id));
+            filter.put(BloomFilter.hash("user" + id + "@example.com"));
+        }
+
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(filter.mightContain(BloomFilter.hash(id)));
+            assertTrue(filter.mightContain(BloomFilter.hash("user" + id + "@example.com")));
+        }
+    }
+
+    @Test
+    void mightContain_OtherValues_FalsePositivesNearTargetRate() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (long id = 1; id <= 100_000; id++) {
+            filter.put(BloomFilter.hash(id));
+        }
+
+        int falsePositives = 0;
+        for (long id = 100_001; id <= 200_000; id++) {
+            if (filter.mightContain(BloomFilter.hash(id))) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+        assertEquals(7, filter.probes());
+        assertEquals(958_528, filter.bitSize());
+    }
+
+    @Test
+    void constructor_InvalidSizing_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+}
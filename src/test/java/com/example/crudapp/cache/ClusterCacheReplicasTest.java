@@ -0,0 +1,83 @@
+package com.example.crudapp.cache;
+
+import com.example.crudapp.CrudappApplication;
+import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.service.UserService;
+import com.example.crudapp.service.WeatherService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two replicas as separate application contexts in one JVM, joined through the embedded cluster
+ * cache and sharing one in-memory database. Each replica gets its own JCache manager, so their Hibernate
+ * second-level caches are as separate as they would be in two processes. JCache shares a manager between
+ * callers that ask for the same URI, so the replicas name the same configuration file by different paths.
+ */
+class ClusterCacheReplicasTest {
+
+    private static ConfigurableApplicationContext replicaA;
+    private static ConfigurableApplicationContext replicaB;
+
+    @BeforeAll
+    static void startReplicas() {
+        String cacheConfig = ClusterCacheReplicasTest.class.getResource("/application.conf").toString();
+        replicaA = startReplica("create-drop", cacheConfig);
+        replicaB = startReplica("none", cacheConfig.replace("/application.conf", "/./application.conf"));
+    }
+
+    @AfterAll
+    static void stopReplicas() {
+        replicaB.close();
+        replicaA.close();
+    }
+
+    @Test
+    void userLookups_SharedAcrossReplicasAndInvalidatedOnUpdate() {
+        UserService usersA = replicaA.getBean(UserService.class);
+        UserService usersB = replicaB.getBean(UserService.class);
+        Long id = usersA.createUser(new UserDto(null, "Ada", "ada@replicas.test", 36)).id();
+
+        assertEquals("Ada", usersB.getUserById(id).name());
+        assertEquals("Ada", usersA.getUserById(id).name());
+        assertEquals(1.0, tierCount(replicaA, "users", "cluster"));
+
+        usersA.updateUser(id, new UserDto(id, "Ada Lovelace", "ada@replicas.test", 36));
+
+        assertEquals("Ada Lovelace", usersB.getUserById(id).name());
+        assertEquals("Ada Lovelace", usersA.getUserById(id).name());
+    }
+
+    @Test
+    void forecasts_FetchedOnceForAllReplicas() {
+        CompactForecast fetched = replicaA.getBean(WeatherService.class).getCompactForecast("98101");
+        CompactForecast shared = replicaB.getBean(WeatherService.class).getCompactForecast("98101");
+
+        assertNotSame(fetched, shared);
+        assertEquals(fetched.getLocation(), shared.getLocation());
+        assertEquals(fetched.getTemperatureHigh(0), shared.getTemperatureHigh(0));
+        assertEquals(1.0, tierCount(replicaB, "forecasts", "cluster"));
+    }
+
+    private static ConfigurableApplicationContext startReplica(String ddlAuto, String jcacheUri) {
+        return new SpringApplicationBuilder(CrudappApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:replicas;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.javax.cache.uri=" + jcacheUri,
+                "--cache.cluster.backend=embedded",
+                "--cache.cluster.name=replicas-test",
+                "--profiling.jfr.enabled=false");
+    }
+
+    private static double tierCount(ConfigurableApplicationContext replica, String cache, String result) {
+        return replica.getBean(MeterRegistry.class).get("cache.tier.gets")
+                .tags("cache", cache, "result", result).functionCounter().count();
+    }
+}
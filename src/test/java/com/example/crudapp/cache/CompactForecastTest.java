@@ -0,0 +1,69 @@
+package com.example.crudapp.cache;
+
+import com.example.crudapp.dto.WeatherDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactForecastTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void serialize_ShouldMatchWeatherDtoJson() throws Exception {
+        WeatherDto forecast = createForecast();
+
+        String expected = objectMapper.writeValueAsString(forecast);
+        String actual = objectMapper.writeValueAsString(CompactForecast.from(forecast));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getJson_ShouldMatchSerializedForecastAndBeReused() throws Exception {
+        CompactForecast compact = CompactForecast.from(createForecast());
+
+        byte[] json = compact.getJson();
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(compact), json);
+        assertSame(json, compact.getJson());
+    }
+
+    @Test
+    void toDto_ShouldRoundTripForecast() {
+        WeatherDto forecast = createForecast();
+
+        WeatherDto result = CompactForecast.from(forecast).toDto();
+
+        assertEquals(forecast, result);
+    }
+
+    @Test
+    void getDay_ShouldMaterializeSingleDay() {
+        CompactForecast compact = CompactForecast.from(createForecast());
+
+        WeatherDto.DailyForecast day = compact.getDay(2);
+
+        assertEquals(3, compact.size());
+        assertEquals(LocalDate.of(2025, 6, 3), day.date());
+        assertEquals("Freezing Fog", day.description());
+        assertEquals(30.5, day.temperatureHigh());
+        assertEquals(90, day.humidity());
+    }
+
+    private WeatherDto createForecast() {
+        return new WeatherDto("Chicago, IL", "60601", Arrays.asList(
+            new WeatherDto.DailyForecast(LocalDate.of(2025, 6, 1), "Sunny", 75.5, 60.25, 50, 10.0),
+            new WeatherDto.DailyForecast(LocalDate.of(2025, 6, 2), "Light Rain", 65.0, 50.0, 80, 15.5),
+            new WeatherDto.DailyForecast(LocalDate.of(2025, 6, 3), "Freezing Fog", 30.5, 20.0, 90, 2.25)
+        ));
+    }
+}
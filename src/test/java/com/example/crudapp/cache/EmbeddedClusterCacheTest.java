@@ -0,0 +1,89 @@
+package com.example.crudapp.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddedClusterCacheTest {
+
+    private final EmbeddedClusterCache memberA = new EmbeddedClusterCache("embedded-test", 3);
+    private final EmbeddedClusterCache memberB = new EmbeddedClusterCache("embedded-test", 3);
+
+    @AfterEach
+    void tearDown() {
+        memberA.leave();
+        memberB.leave();
+    }
+
+    @Test
+    void put_VisibleToOtherMembers() {
+        byte[] value = {1, 2, 3};
+        memberA.put("users", "1", value, 60_000);
+
+        assertArrayEquals(value, memberB.get("users", "1"));
+        assertNull(memberB.get("forecasts", "1"));
+
+        memberB.evict("users", "1");
+
+        assertNull(memberA.get("users", "1"));
+    }
+
+    @Test
+    void get_ExpiredEntry_ReturnsNull() throws Exception {
+        memberA.put("users", "1", new byte[] {1}, 1);
+
+        Thread.sleep(5);
+
+        assertNull(memberB.get("users", "1"));
+        assertEquals(0, memberA.size());
+    }
+
+    @Test
+    void put_Full_DropsAnEntry() {
+        for (int i = 0; i < 5; i++) {
+            memberA.put("users", String.valueOf(i), new byte[] {1}, 60_000);
+        }
+
+        assertEquals(3, memberB.size());
+    }
+
+    @Test
+    void broadcastInvalidation_ReachesOnlyOtherMembers() {
+        List<String> receivedA = new ArrayList<>();
+        List<String> receivedB = new ArrayList<>();
+        memberA.addInvalidationListener((region, key) -> receivedA.add(region + ":" + key));
+        memberB.addInvalidationListener((region, key) -> receivedB.add(region + ":" + key));
+
+        memberA.broadcastInvalidation("users", "7");
+
+        assertTrue(receivedA.isEmpty());
+        assertEquals(List.of("users:7"), receivedB);
+    }
+
+    @Test
+    void broadcastInvalidation_FailingListener_DoesNotFailSender() {
+        memberB.addInvalidationListener((region, key) -> {
+            throw new IllegalStateException("listener failed");
+        });
+
+        assertDoesNotThrow(() -> memberA.broadcastInvalidation("users", "7"));
+    }
+
+    @Test
+    void leave_LastMember_DiscardsData() {
+        memberA.put("users", "1", new byte[] {1}, 60_000);
+        memberA.leave();
+        memberB.leave();
+
+        EmbeddedClusterCache rejoined = new EmbeddedClusterCache("embedded-test", 3);
+        try {
+            assertNull(rejoined.get("users", "1"));
+        } finally {
+            rejoined.leave();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.crudapp.cache;
+
+import com.example.crudapp.dto.WeatherDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForecastCacheTest {
+
+    private final EmbeddedClusterCache memberA = new EmbeddedClusterCache("forecast-cache-test", 100);
+    private final EmbeddedClusterCache memberB = new EmbeddedClusterCache("forecast-cache-test", 100);
+    private final List<Object> eventsB = new CopyOnWriteArrayList<>();
+    private final ForecastCache cacheA = new ForecastCache(Duration.ofMinutes(30), Duration.ofMinutes(1), 10, null, memberA,
+            event -> { });
+    private final ForecastCache cacheB = new ForecastCache(Duration.ofMinutes(30), Duration.ofMinutes(1), 10, null, memberB,
+            eventsB::add);
+
+    @AfterEach
+    void tearDown() {
+        memberA.leave();
+        memberB.leave();
+    }
+
+    @Test
+    void get_MissedLocally_FilledFromCluster() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cacheB.bindTo(registry);
+        CompactForecast stored = cacheA.put("10001", forecast());
+
+        CompactForecast shared = cacheB.get("10001");
+
+        assertEquals(stored.getLocation(), shared.getLocation());
+        assertEquals(stored.getTemperatureHigh(0), shared.getTemperatureHigh(0));
+        assertEquals(1, cacheB.size());
+        assertSame(shared, cacheB.get("10001"));
+        assertNull(cacheB.get("90210"));
+        assertEquals(1.0, registry.get("cache.tier.gets").tags("cache", "forecasts", "result", "cluster")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.tier.gets").tags("cache", "forecasts", "result", "local")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.tier.gets").tags("cache", "forecasts", "result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void get_WithoutCluster_LocalOnly() {
+        ForecastCache local = new ForecastCache(Duration.ofMinutes(30), Duration.ofMinutes(1), 10, null, null, event -> { });
+        cacheA.put("10001", forecast());
+
+        assertNull(local.get("10001"));
+    }
+
+    @Test
+    void putFallback_ExpiresAfterFallbackTtl() {
+        ForecastCache local = new ForecastCache(Duration.ofMinutes(30), Duration.ZERO, 10, null, null, event -> { });
+
+        local.putFallback("10001", forecast());
+        assertNull(local.get("10001"));
+
+        local.put("10001", forecast());
+        assertNotNull(local.get("10001"));
+    }
+
+    @Test
+    void get_NewerForecastInCluster_AnnouncedOnOtherReplica() {
+        ForecastCache shortLivedB = new ForecastCache(Duration.ZERO, Duration.ZERO, 10, null, memberB, eventsB::add);
+        shortLivedB.putFallback("10001", forecast("Sunny"));
+
+        cacheA.put("10001", forecast("Snow"));
+        CompactForecast shared = shortLivedB.get("10001");
+
+        assertEquals("Snow", shared.getDay(0).description());
+        assertEquals(1, eventsB.size());
+        ForecastRefreshedEvent event = (ForecastRefreshedEvent) eventsB.get(0);
+        assertEquals("10001", event.zipCode());
+        assertSame(shared, event.forecast());
+    }
+
+    private static WeatherDto forecast() {
+        return forecast("Sunny");
+    }
+
+    private static WeatherDto forecast(String description) {
+        return new WeatherDto("New York, NY", "10001", List.of(
+                new WeatherDto.DailyForecast(LocalDate.of(2026, 1, 1), description, 71.5, 60.25, 40, 5.5)));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.crudapp.cache;
+
+import com.example.crudapp.dto.WeatherDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForecastStoreTest {
+
+    private static final int CAPACITY = 64 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void load_AfterReopen_ShouldReturnPersistedForecast() {
+        String path = tempDir.resolve("forecasts.bin").toString();
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        ForecastStore store = new ForecastStore(path, CAPACITY);
+        store.append("10001", createForecast("10001"), expiresAt);
+        store.close();
+
+        ForecastStore reopened = new ForecastStore(path, CAPACITY);
+        Map<String, ForecastStore.StoredForecast> entries = reopened.load(System.currentTimeMillis());
+        reopened.close();
+
+        assertEquals(1, entries.size());
+        ForecastStore.StoredForecast stored = entries.get("10001");
+        assertEquals(expiresAt, stored.getExpiresAtMillis());
+        WeatherDto forecast = stored.getForecast().toDto();
+        assertEquals("New York, NY", forecast.location());
+        assertEquals("10001", forecast.zipCode());
+        assertEquals(2, forecast.forecast().size());
+
+        WeatherDto.DailyForecast first = forecast.forecast().get(0);
+        assertEquals(LocalDate.of(2025, 6, 1), first.date());
+        assertEquals("Sunny", first.description());
+        assertEquals(75.5, first.temperatureHigh(), 0.001);
+        assertEquals(60.25, first.temperatureLow(), 0.001);
+        assertEquals(50, first.humidity());
+        assertEquals(10.0, first.windSpeed(), 0.001);
+        assertEquals("Rainy", forecast.forecast().get(1).description());
+    }
+
+    @Test
+    void load_ShouldSkipExpiredAndSupersededRecords() {
+        ForecastStore store = new ForecastStore(tempDir.resolve("forecasts.bin").toString(), CAPACITY);
+        long now = System.currentTimeMillis();
+        store.append("10001", createForecast("10001"), now - 1);
+        store.append("90210", createForecast("90210"), now + 60_000);
+        store.append("90210", createForecast("90210"), now + 120_000);
+
+        Map<String, ForecastStore.StoredForecast> entries = store.load(now);
+        store.close();
+
+        assertEquals(1, entries.size());
+        assertEquals(now + 120_000, entries.get("90210").getExpiresAtMillis());
+    }
+
+    @Test
+    void append_WhenFull_ShouldCompactAndKeepLiveEntries() {
+        ForecastStore store = new ForecastStore(tempDir.resolve("forecasts.bin").toString(), 1024);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        for (int i = 0; i < 50; i++) {
+            store.append("10001", createForecast("10001"), expiresAt + i);
+        }
+        store.append("90210", createForecast("90210"), expiresAt);
+
+        Map<String, ForecastStore.StoredForecast> entries = store.load(System.currentTimeMillis());
+        store.close();
+
+        assertEquals(2, entries.size());
+        assertEquals(expiresAt + 49, entries.get("10001").getExpiresAtMillis());
+    }
+
+    private CompactForecast createForecast(String zipCode) {
+        return CompactForecast.from(new WeatherDto("New York, NY", zipCode, Arrays.asList(
+            new WeatherDto.DailyForecast(LocalDate.of(2025, 6, 1), "Sunny", 75.5, 60.25, 50, 10.0),
+            new WeatherDto.DailyForecast(LocalDate.of(2025, 6, 2), "Rainy", 65.0, 50.0, 80, 15.0)
+        )));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.crudapp.cache;
+
+import com.example.crudapp.CrudappApplication;
+import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.exception.UserNotFoundException;
+import com.example.crudapp.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two replicas as separate application contexts sharing one in-memory database, without a cluster
+ * cache backend, as {@link ClusterCacheReplicasTest} does with one. Neither replica hears about users the
+ * other creates until its next rebuild, so the negative cache must not answer their IDs as missing.
+ */
+class UnclusteredReplicasTest {
+
+    private static ConfigurableApplicationContext replicaA;
+    private static ConfigurableApplicationContext replicaB;
+
+    @BeforeAll
+    static void startReplicas() {
+        String cacheConfig = UnclusteredReplicasTest.class.getResource("/application.conf").toString();
+        replicaA = startReplica("create-drop", cacheConfig);
+        replicaB = startReplica("none", cacheConfig.replace("/application.conf", "/./application.conf"));
+    }
+
+    @AfterAll
+    static void stopReplicas() {
+        replicaB.close();
+        replicaA.close();
+    }
+
+    @Test
+    void userCreatedOnOneReplica_FoundOnTheOther() {
+        UserNegativeCache negativeCacheB = replicaB.getBean(UserNegativeCache.class);
+        negativeCacheB.rebuild();
+        UserService usersB = replicaB.getBean(UserService.class);
+        assertThrows(UserNotFoundException.class, () -> usersB.getUserById(1_000_000L));
+
+        Long id = replicaA.getBean(UserService.class)
+                .createUser(new UserDto(null, "Ada", "ada@unclustered.test", 36)).id();
+
+        assertEquals("Ada", usersB.getUserById(id).name());
+        assertFalse(negativeCacheB.isKnownMissing(id));
+    }
+
+    private static ConfigurableApplicationContext startReplica(String ddlAuto, String jcacheUri) {
+        return new SpringApplicationBuilder(CrudappApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:unclustered-replicas;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.javax.cache.uri=" + jcacheUri,
+                "--cache.cluster.backend=none",
+                "--profiling.jfr.enabled=false");
+    }
+}
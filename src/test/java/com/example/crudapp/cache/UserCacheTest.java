@@ -0,0 +1,123 @@
+package com.example.crudapp.cache;
+
+import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.entity.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserCacheTest {
+
+    private final UserDto ada = new UserDto(1L, "Ada", "ada@example.com", 36);
+    private final EmbeddedClusterCache memberA = new EmbeddedClusterCache("user-cache-test", 100);
+    private final EmbeddedClusterCache memberB = new EmbeddedClusterCache("user-cache-test", 100);
+    private final EntityManagerFactory entityManagerFactoryB = mock(EntityManagerFactory.class);
+    private final UserCache cacheA = new UserCache(memberA, mock(EntityManagerFactory.class), Duration.ofMinutes(1), 10);
+    private final UserCache cacheB = new UserCache(memberB, entityManagerFactoryB, Duration.ofMinutes(1), 10);
+
+    @AfterEach
+    void tearDown() {
+        memberA.leave();
+        memberB.leave();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_FilledByOtherReplica_ServedFromClusterThenLocally() {
+        cacheA.put(ada, cacheA.stamp());
+
+        assertEquals(ada, cacheB.get(1L));
+        assertEquals(1, cacheB.size());
+        assertEquals(ada, cacheB.get(1L));
+        assertNull(cacheB.get(2L));
+    }
+
+    @Test
+    void put_InvalidatedSinceStamp_Skipped() {
+        long stamp = cacheA.stamp();
+        cacheA.invalidate(2L);
+
+        cacheA.put(ada, stamp);
+
+        assertNull(cacheA.get(1L));
+    }
+
+    @Test
+    void put_InvalidatedDuringClusterWrite_DropsCopyEverywhere() {
+        EmbeddedClusterCache racingMember = spy(new EmbeddedClusterCache("user-cache-test", 100));
+        UserCache racingCache = new UserCache(racingMember, mock(EntityManagerFactory.class), Duration.ofMinutes(1), 10);
+        doAnswer(invocation -> {
+            racingCache.invalidate(1L);
+            return invocation.callRealMethod();
+        }).when(racingMember).put(eq(UserCache.CLUSTER_REGION), eq("1"), any(byte[].class), anyLong());
+
+        try {
+            racingCache.put(ada, racingCache.stamp());
+
+            assertEquals(0, racingCache.size());
+            assertNull(memberB.get(UserCache.CLUSTER_REGION, "1"));
+        } finally {
+            racingMember.leave();
+        }
+    }
+
+    @Test
+    void invalidate_DropsEverywhereAndEvictsPeerHibernateCache() {
+        Cache entityCache = mock(Cache.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        org.hibernate.Cache hibernateCache = mock(org.hibernate.Cache.class);
+        when(entityManagerFactoryB.getCache()).thenReturn(entityCache);
+        when(entityManagerFactoryB.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(hibernateCache);
+        cacheA.put(ada, cacheA.stamp());
+        cacheB.get(1L);
+
+        cacheA.invalidate(1L);
+
+        assertEquals(0, cacheB.size());
+        assertNull(memberB.get(UserCache.CLUSTER_REGION, "1"));
+        verify(entityCache).evict(User.class, 1L);
+        verify(hibernateCache).evictDefaultQueryRegion();
+    }
+
+    @Test
+    void invalidate_InTransaction_PublishesAfterCommit() {
+        cacheA.put(ada, cacheA.stamp());
+        TransactionSynchronizationManager.initSynchronization();
+
+        cacheA.invalidate(1L);
+
+        assertNotNull(memberB.get(UserCache.CLUSTER_REGION, "1"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNull(memberB.get(UserCache.CLUSTER_REGION, "1"));
+    }
+
+    @Test
+    void withoutCluster_Disabled() {
+        UserCache disabled = new UserCache(null, mock(EntityManagerFactory.class), Duration.ofMinutes(1), 10);
+
+        disabled.put(ada, disabled.stamp());
+        disabled.invalidate(1L);
+
+        assertFalse(disabled.isEnabled());
+        assertNull(disabled.get(1L));
+    }
+
+    @Test
+    void encode_RoundTrips() {
+        UserDto unicode = new UserDto(42L, "Zoë Ünal", "zoe@example.com", 29);
+
+        assertEquals(unicode, UserCache.decode(UserCache.encode(unicode)));
+    }
+}
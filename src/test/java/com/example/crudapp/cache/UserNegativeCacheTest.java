@@ -0,0 +1,161 @@
+package com.example.crudapp.cache;
+
+import com.example.crudapp.repository.UserKey;
+import com.example.crudapp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserNegativeCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final EmbeddedClusterCache memberA = new EmbeddedClusterCache("negative-cache-test", 100);
+    private final EmbeddedClusterCache memberB = new EmbeddedClusterCache("negative-cache-test", 100);
+    private final UserNegativeCache cacheA = create(memberA, true, 3);
+    private final UserNegativeCache cacheB = create(memberB, true, 3);
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.streamKeys()).thenAnswer(invocation -> Stream.of(new UserKey(1L, "ada@example.com")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberA.leave();
+        memberB.leave();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void beforeRebuild_NothingKnown() {
+        assertFalse(cacheA.isBuilt());
+        assertFalse(cacheA.isKnownMissing(2L));
+        assertFalse(cacheA.isEmailFree("grace@example.com"));
+    }
+
+    @Test
+    void rebuild_AnswersAbsentIdsAndEmails() {
+        cacheA.rebuild();
+
+        assertTrue(cacheA.isBuilt());
+        assertFalse(cacheA.isKnownMissing(1L));
+        assertTrue(cacheA.isKnownMissing(2L));
+        assertFalse(cacheA.isEmailFree("ada@example.com"));
+        assertTrue(cacheA.isEmailFree("grace@example.com"));
+    }
+
+    @Test
+    void recordEmailFalsePositive_CountedOnceBuilt() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cacheA.bindTo(registry);
+        cacheA.recordEmailFalsePositive();
+
+        cacheA.rebuild();
+        cacheA.recordEmailFalsePositive();
+
+        assertEquals(1.0, registry.get("cache.negative.false.positives").functionCounter().count());
+        assertEquals(2 * 960 / 8, cacheA.filterBytes());
+        assertEquals(cacheA.filterBytes(), registry.get("cache.negative.filter.size").gauge().value());
+    }
+
+    @Test
+    void recordMissing_RememberedUntilUserCreated() {
+        cacheA.recordMissing(1L, cacheA.stamp());
+
+        assertTrue(cacheA.isKnownMissing(1L));
+
+        cacheA.recordUser(1L, "ada@example.com");
+
+        assertFalse(cacheA.isKnownMissing(1L));
+    }
+
+    @Test
+    void recordMissing_UserAddedSinceStamp_Skipped() {
+        long stamp = cacheA.stamp();
+        cacheA.recordUser(2L, "grace@example.com");
+
+        cacheA.recordMissing(1L, stamp);
+
+        assertFalse(cacheA.isKnownMissing(1L));
+    }
+
+    @Test
+    void recordMissing_Full_DropsAnId() {
+        for (long id = 1; id <= 5; id++) {
+            cacheA.recordMissing(id, cacheA.stamp());
+        }
+
+        assertEquals(3, cacheA.missingSize());
+    }
+
+    @Test
+    void recordMissing_Expired_NotKnownMissing() throws Exception {
+        UserNegativeCache shortLived = new UserNegativeCache(memberA, userRepository, mock(PlatformTransactionManager.class),
+                true, 100, 0.01, Duration.ofMillis(1), 3);
+        shortLived.recordMissing(1L, shortLived.stamp());
+
+        Thread.sleep(5);
+
+        assertFalse(shortLived.isKnownMissing(1L));
+    }
+
+    @Test
+    void recordUser_InTransaction_ToldToOtherReplicasAfterCommit() {
+        cacheA.rebuild();
+        cacheB.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+
+        cacheA.recordUser(2L, "grace@example.com");
+
+        assertFalse(cacheA.isKnownMissing(2L));
+        assertFalse(cacheA.isEmailFree("grace@example.com"));
+        assertTrue(cacheB.isKnownMissing(2L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertFalse(cacheB.isKnownMissing(2L));
+        assertFalse(cacheB.isEmailFree("grace@example.com"));
+    }
+
+    @Test
+    void withoutCluster_OnlyEmailsAnsweredAbsent() {
+        UserNegativeCache unclustered = create(null, true, 3);
+
+        unclustered.rebuild();
+        unclustered.recordMissing(3L, unclustered.stamp());
+
+        assertFalse(unclustered.isKnownMissing(2L));
+        assertFalse(unclustered.isKnownMissing(3L));
+        assertEquals(0, unclustered.missingSize());
+        assertTrue(unclustered.isEmailFree("grace@example.com"));
+    }
+
+    @Test
+    void disabled_NothingKnown() {
+        UserNegativeCache disabled = create(null, false, 3);
+
+        disabled.rebuild();
+        disabled.recordMissing(2L, disabled.stamp());
+
+        assertFalse(disabled.isBuilt());
+        assertFalse(disabled.isKnownMissing(2L));
+        assertFalse(disabled.isEmailFree("grace@example.com"));
+        verifyNoInteractions(userRepository);
+    }
+
+    private UserNegativeCache create(ClusterCache cluster, boolean enabled, int missingMaxEntries) {
+        return new UserNegativeCache(cluster, userRepository, mock(PlatformTransactionManager.class),
+                enabled, 100, 0.01, Duration.ofMinutes(1), missingMaxEntries);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.crudapp.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AimdLimitTest {
+
+    private static final long THRESHOLD = 100_000_000L;
+
+    @Test
+    void onSample_FastAndBusy_IncreasesByOnePerLimitOfResponses() {
+        AimdLimit limit = new AimdLimit(10, 2, 20, 0.5, THRESHOLD);
+
+        for (int i = 0; i < 9; i++) {
+            limit.onSample(i, THRESHOLD / 2, 6, false);
+        }
+        assertEquals(10, limit.getLimit());
+
+        limit.onSample(9, THRESHOLD / 2, 6, false);
+        limit.onSample(10, THRESHOLD / 2, 6, false);
+        assertEquals(11, limit.getLimit());
+    }
+
+    @Test
+    void onSample_FastButMostlyIdle_KeepsLimit() {
+        AimdLimit limit = new AimdLimit(10, 2, 20, 0.5, THRESHOLD);
+
+        limit.onSample(0, THRESHOLD / 2, 4, false);
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void onSample_SlowOrDropped_DecreasesMultiplicatively() {
+        AimdLimit slow = new AimdLimit(10, 2, 20, 0.5, THRESHOLD);
+        AimdLimit dropped = new AimdLimit(10, 2, 20, 0.5, THRESHOLD);
+
+        slow.onSample(0, THRESHOLD + 1, 10, false);
+        dropped.onSample(0, 1, 10, true);
+
+        assertEquals(5, slow.getLimit());
+        assertEquals(5, dropped.getLimit());
+    }
+
+    @Test
+    void onSample_SlowBurst_DecreasesOncePerRoundTrip() {
+        AimdLimit limit = new AimdLimit(16, 2, 20, 0.5, THRESHOLD);
+
+        limit.onSample(0, 2 * THRESHOLD, 16, false);
+        limit.onSample(10, 2 * THRESHOLD, 16, false);
+        assertEquals(8, limit.getLimit());
+
+        limit.onSample(3 * THRESHOLD, 2 * THRESHOLD, 8, false);
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    void onSample_StaysWithinBounds() {
+        AimdLimit limit = new AimdLimit(3, 2, 4, 0.5, THRESHOLD);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(i, 1, 4, false);
+        }
+        assertEquals(4, limit.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(i * 10 * THRESHOLD, 1, 4, true);
+        }
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void constructor_InvalidSettings_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimit(10, 0, 20, 0.5, THRESHOLD));
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimit(10, 5, 4, 0.5, THRESHOLD));
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimit(10, 2, 20, 1.0, THRESHOLD));
+    }
+}
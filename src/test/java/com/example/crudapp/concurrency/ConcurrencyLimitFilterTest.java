@@ -0,0 +1,87 @@
+package com.example.crudapp.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(Jackson2ObjectMapperBuilder.json().build(),
+            2, 2, 10, 0.5, 0.5, Duration.ofSeconds(10), Duration.ofSeconds(10));
+
+    @Test
+    void doFilter_UnderLimit_PassesThroughAndReleases() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users/1"), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals(0, filter.limiterFor(new MockHttpServletRequest("GET", "/api/users/1")).getInFlight());
+    }
+
+    @Test
+    void doFilter_OverLimit_RejectsWith503AndRetryAfter() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain occupyingChain = (request, response) -> {
+            MockHttpServletResponse inner = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/users"), inner, new MockFilterChain());
+            nested.set(inner);
+        };
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/users"), new MockHttpServletResponse(), occupyingChain);
+
+        MockHttpServletResponse rejected = nested.get();
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("\"status\":503"));
+    }
+
+    @Test
+    void doFilter_ServerError_CountsAsDropped() throws Exception {
+        ConcurrencyLimitFilter large = new ConcurrencyLimitFilter(Jackson2ObjectMapperBuilder.json().build(),
+                10, 2, 10, 0.5, 0.5, Duration.ofSeconds(10), Duration.ofSeconds(10));
+        FilterChain failingChain = (request, response) -> ((HttpServletResponse) response).setStatus(500);
+
+        large.doFilter(new MockHttpServletRequest("GET", "/api/weather/forecast/10001"),
+                new MockHttpServletResponse(), failingChain);
+
+        assertEquals(5, large.limiterFor(new MockHttpServletRequest("GET", "/api/weather/forecast/10001")).getLimit());
+    }
+
+    @Test
+    void shouldNotFilter_OtherPaths_Skipped() {
+        assertNull(filter.limiterFor(new MockHttpServletRequest("GET", "/actuator/health")));
+        assertEquals("weather", filter.limiterFor(new MockHttpServletRequest("GET", "/api/weather/current/10001")).getName());
+    }
+
+    @Test
+    void shouldNotFilter_BulkTransfers_Skipped() {
+        assertNull(filter.limiterFor(new MockHttpServletRequest("POST", "/api/users/import")));
+        assertNull(filter.limiterFor(new MockHttpServletRequest("GET", "/api/users/export")));
+        assertEquals("users", filter.limiterFor(new MockHttpServletRequest("GET", "/api/users/1")).getName());
+    }
+
+    @Test
+    void bindTo_PublishesLimitInFlightAndRejections() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        filter.bindTo(registry);
+
+        assertEquals(2.0, registry.get("api.concurrency.limit").tag("group", "users").gauge().value());
+        assertEquals(0.0, registry.get("api.concurrency.in.flight").tag("group", "weather").gauge().value());
+        assertEquals(0.0, registry.get("api.concurrency.rejected").tags("group", "users", "priority", "write")
+                .functionCounter().count());
+    }
+}
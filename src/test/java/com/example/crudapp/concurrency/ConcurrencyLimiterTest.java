@@ -0,0 +1,61 @@
+package com.example.crudapp.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    private final ConcurrencyLimiter limiter =
+            new ConcurrencyLimiter("users", new AimdLimit(8, 2, 8, 0.5, Long.MAX_VALUE), 0.5);
+
+    @Test
+    void tryAcquire_WritesUseOnlyTheirShare() {
+        List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            permits.add(limiter.tryAcquire(true));
+        }
+
+        assertTrue(permits.stream().allMatch(permit -> permit != null));
+        assertNull(limiter.tryAcquire(true));
+        assertNotNull(limiter.tryAcquire(false));
+        assertEquals(1, limiter.getRejected(true));
+        assertEquals(0, limiter.getRejected(false));
+    }
+
+    @Test
+    void tryAcquire_ReadsUseWholeLimit() {
+        for (int i = 0; i < 8; i++) {
+            assertNotNull(limiter.tryAcquire(false));
+        }
+
+        assertNull(limiter.tryAcquire(false));
+        assertEquals(8, limiter.getInFlight());
+        assertEquals(1, limiter.getRejected(false));
+    }
+
+    @Test
+    void release_FreesSlot() {
+        for (int i = 0; i < 7; i++) {
+            limiter.tryAcquire(false);
+        }
+        ConcurrencyLimiter.Permit last = limiter.tryAcquire(false);
+        assertNull(limiter.tryAcquire(false));
+
+        last.release(false);
+
+        assertEquals(7, limiter.getInFlight());
+        assertNotNull(limiter.tryAcquire(false));
+    }
+
+    @Test
+    void release_Dropped_ShrinksLimit() {
+        limiter.tryAcquire(false).release(true);
+
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.crudapp.config;
+
+import com.example.crudapp.cache.ForecastCache;
+import com.example.crudapp.ingest.UserIngestQueue;
+import com.example.crudapp.service.WeatherService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyInitializationConfigTest {
+
+    private final LazyInitializationExcludeFilter filter = LazyInitializationConfig.scheduledBeansExcludeFilter();
+
+    @Test
+    void scheduledBeansExcludeFilter_BeanWithScheduledMethods_StaysEager() {
+        assertTrue(filter.isExcluded("forecastCache", null, ForecastCache.class));
+        assertTrue(filter.isExcluded("userIngestQueue", null, UserIngestQueue.class));
+    }
+
+    @Test
+    void scheduledBeansExcludeFilter_OtherBeans_AreLazy() {
+        assertFalse(filter.isExcluded("weatherService", null, WeatherService.class));
+        assertFalse(filter.isExcluded("unknown", null, null));
+    }
+}
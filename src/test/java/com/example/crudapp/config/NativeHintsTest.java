@@ -0,0 +1,66 @@
+package com.example.crudapp.config;
+
+import com.example.crudapp.cache.CompactForecast;
+import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.dto.UserImportResultDto;
+import com.example.crudapp.dto.WeatherDto;
+import com.example.crudapp.entity.User;
+import com.example.crudapp.repository.UserKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_ShouldRegisterDtoAccessorsForBinding() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(UserDto.class.getMethod("email")).invoke().test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(WeatherDto.class.getMethod("forecast")).invoke().test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(WeatherDto.DailyForecast.class.getMethod("temperatureHigh")).invoke().test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldRegisterLombokGeneratedEntityMembers() throws NoSuchMethodException, NoSuchFieldException {
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(User.class.getDeclaredConstructor()).invoke().test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(User.class.getMethod("setEmail", String.class)).invoke().test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onField(User.class.getDeclaredField("email")).test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldRegisterForecastSerializerConstructor() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(CompactForecast.Serializer.class.getConstructor()).invoke().test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldRegisterUserKeyProjectionConstructor() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(UserKey.class.getConstructor(Long.class, String.class)).invoke().test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldRegisterUserDtoProjectionConstructorAndImportResult() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(
+                UserDto.class.getConstructor(Long.class, String.class, String.class, Integer.class)).invoke().test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(UserImportResultDto.LineError.class.getMethod("message")).invoke().test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldRegisterStartupResources() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("application.conf").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/V1__create_users.sql").test(hints));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.crudapp.controller;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.exception.GlobalExceptionHandler;
+import com.example.crudapp.exception.UserAlreadyExistsException;
+import com.example.crudapp.exception.UserNotFoundException;
+import com.example.crudapp.idempotency.IdempotencyStore;
+import com.example.crudapp.ingest.UserIngestQueue;
+import com.example.crudapp.service.UserChangeService;
+import com.example.crudapp.service.UserService;
+import com.example.crudapp.service.UserTransferService;
+import com.example.crudapp.validation.UserDtoValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Microbenchmark comparing error responses with successful ones through {@link UserController}
+ * and {@link GlobalExceptionHandler}, dispatched by MockMvc with a stubbed service. Each 404 and 409
+ * constructs a new exception, as the service does. Logging is set to WARN, so neither path logs.
+ * Not run by the test suite; run it with
+ * {@code java -cp <test classpath> com.example.crudapp.controller.ErrorResponseBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorResponseBenchmark {
+
+    private static final String NEW_USER = "{\"name\":\"Ada\",\"email\":\"ada@example.com\",\"age\":36}";
+    private static final String TAKEN_USER = "{\"name\":\"Ada\",\"email\":\"taken@example.com\",\"age\":36}";
+
+    private MockMvc mockMvc;
+    private RequestBuilder getFound;
+    private RequestBuilder getMissing;
+    private RequestBuilder createNew;
+    private RequestBuilder createTaken;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        UserService userService = mock(UserService.class, withSettings().stubOnly());
+        UserDto ada = new UserDto(1L, "Ada", "ada@example.com", 36);
+        when(userService.getUserById(1L)).thenReturn(ada);
+        when(userService.getUserById(2L)).thenAnswer(invocation -> {
+            throw new UserNotFoundException("User not found with id: 2");
+        });
+        when(userService.createUser(new UserDto(null, "Ada", "ada@example.com", 36))).thenReturn(ada);
+        when(userService.createUser(new UserDto(null, "Ada", "taken@example.com", 36))).thenAnswer(invocation -> {
+            throw new UserAlreadyExistsException("User with email taken@example.com already exists");
+        });
+
+        UserController controller = new UserController(userService, new UserDtoValidator(),
+                new IdempotencyStore(Duration.ofHours(24), Duration.ofMinutes(5), 100_000),
+                mock(UserIngestQueue.class, withSettings().stubOnly()),
+                mock(UserChangeService.class, withSettings().stubOnly()),
+                mock(UserTransferService.class, withSettings().stubOnly()));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        getFound = get("/api/users/1");
+        getMissing = get("/api/users/2");
+        createNew = post("/api/users").contentType(MediaType.APPLICATION_JSON).content(NEW_USER);
+        createTaken = post("/api/users").contentType(MediaType.APPLICATION_JSON).content(TAKEN_USER);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getUser200() throws Exception {
+        return perform(getFound, 200);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getUser404() throws Exception {
+        return perform(getMissing, 404);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse createUser201() throws Exception {
+        return perform(createNew, 201);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse createUser409() throws Exception {
+        return perform(createTaken, 409);
+    }
+
+    private MockHttpServletResponse perform(RequestBuilder request, int expectedStatus) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+        if (response.getStatus() != expectedStatus) {
+            throw new IllegalStateException("Expected " + expectedStatus + " but got " + response.getStatus());
+        }
+        return response;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] jmhArgs = new String[args.length + 1];
+        jmhArgs[0] = ErrorResponseBenchmark.class.getName();
+        System.arraycopy(args, 0, jmhArgs, 1, args.length);
+        org.openjdk.jmh.Main.main(jmhArgs);
+    }
+}
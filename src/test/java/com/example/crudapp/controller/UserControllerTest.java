@@ -1,29 +1,49 @@
 package com.example.crudapp.controller;
 
+import com.example.crudapp.dto.UserChangeDto;
+import com.example.crudapp.dto.UserChangesDto;
 import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.dto.UserImportResultDto;
 import com.example.crudapp.exception.UserAlreadyExistsException;
 import com.example.crudapp.exception.UserNotFoundException;
+import com.example.crudapp.exception.IngestQueueFullException;
+import com.example.crudapp.idempotency.IdempotencyStore;
+import com.example.crudapp.ingest.IngestTicket;
+import com.example.crudapp.ingest.UserIngestQueue;
+import com.example.crudapp.service.UserChangeService;
 import com.example.crudapp.service.UserService;
+import com.example.crudapp.service.UserTransferFormat;
+import com.example.crudapp.service.UserTransferService;
+import com.example.crudapp.validation.UserDtoValidator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
+@Import({UserDtoValidator.class, IdempotencyStore.class})
 class UserControllerTest {
 
     @Autowired
@@ -32,6 +52,15 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserIngestQueue userIngestQueue;
+
+    @MockBean
+    private UserChangeService userChangeService;
+
+    @MockBean
+    private UserTransferService userTransferService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -63,7 +92,10 @@ class UserControllerTest {
         mockMvc.perform(post("/api/users")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(invalidUser)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.name").value("Name is required"))
+                .andExpect(jsonPath("$.validationErrors.email").value("Email should be valid"))
+                .andExpect(jsonPath("$.validationErrors.age").value("Age must be greater than 0"));
     }
 
     @Test
@@ -78,6 +110,180 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.message").value("User with email john@example.com already exists"));
     }
 
+    @Test
+    void createUser_RetryWithSameIdempotencyKey_ReplaysFirstResponse() throws Exception {
+        when(userService.createUser(any(UserDto.class))).thenReturn(testUserDto);
+        String body = objectMapper.writeValueAsString(new UserDto(null, "John Doe", "john@example.com", 25));
+
+        mockMvc.perform(post("/api/users")
+                .header("Idempotency-Key", "create-john")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        mockMvc.perform(post("/api/users")
+                .header("Idempotency-Key", "create-john")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.email").value("john@example.com"));
+
+        verify(userService, times(1)).createUser(any(UserDto.class));
+    }
+
+    @Test
+    void createUser_IdempotencyKeyReusedWithDifferentBody_ReturnsUnprocessableEntity() throws Exception {
+        when(userService.createUser(any(UserDto.class))).thenReturn(testUserDto);
+
+        mockMvc.perform(post("/api/users")
+                .header("Idempotency-Key", "create-jane")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UserDto(null, "John Doe", "john@example.com", 25))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/users")
+                .header("Idempotency-Key", "create-jane")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UserDto(null, "Jane Doe", "jane@example.com", 30))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error").value("Idempotency Key Reused"));
+
+        verify(userService, times(1)).createUser(any(UserDto.class));
+    }
+
+    @Test
+    void createUserAsync_IdempotencyKeyUsedForSyncCreate_ReturnsUnprocessableEntity() throws Exception {
+        when(userService.createUser(any(UserDto.class))).thenReturn(testUserDto);
+        String body = objectMapper.writeValueAsString(new UserDto(null, "John Doe", "john@example.com", 25));
+
+        mockMvc.perform(post("/api/users")
+                .header("Idempotency-Key", "create-once")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/users")
+                .param("async", "true")
+                .header("Idempotency-Key", "create-once")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error").value("Idempotency Key Reused"));
+
+        verify(userIngestQueue, never()).submit(any(UserDto.class));
+    }
+
+    @Test
+    void createUserAsync_ReturnsAcceptedWithStatusUrl() throws Exception {
+        when(userIngestQueue.submit(any(UserDto.class)))
+                .thenReturn(new IngestTicket("ticket-1", IngestTicket.State.PENDING, null, null));
+
+        mockMvc.perform(post("/api/users").param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testUserDto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/users/ingest/ticket-1"))
+                .andExpect(jsonPath("$.id").value("ticket-1"))
+                .andExpect(jsonPath("$.state").value("PENDING"));
+
+        verify(userService, never()).createUser(any(UserDto.class));
+    }
+
+    @Test
+    void createUserAsync_InvalidInput_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/users").param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UserDto(null, "", "invalid-email", -1))))
+                .andExpect(status().isBadRequest());
+
+        verify(userIngestQueue, never()).submit(any(UserDto.class));
+    }
+
+    @Test
+    void createUserAsync_QueueFull_ReturnsTooManyRequests() throws Exception {
+        when(userIngestQueue.submit(any(UserDto.class)))
+                .thenThrow(new IngestQueueFullException("User ingest queue is full, retry later"));
+
+        mockMvc.perform(post("/api/users").param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testUserDto)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("User ingest queue is full, retry later"));
+    }
+
+    @Test
+    void getIngestStatus_Created_ReturnsUserLocation() throws Exception {
+        when(userIngestQueue.getTicket("ticket-1"))
+                .thenReturn(new IngestTicket("ticket-1", IngestTicket.State.CREATED, 1L, null));
+
+        mockMvc.perform(get("/api/users/ingest/ticket-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Location", "/api/users/1"))
+                .andExpect(jsonPath("$.state").value("CREATED"))
+                .andExpect(jsonPath("$.userId").value(1));
+    }
+
+    @Test
+    void getIngestStatus_UnknownTicket_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/users/ingest/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getChanges_ReturnsChangesSinceSequence() throws Exception {
+        UserChangeDto change = new UserChangeDto(8L, "CREATED", 1L, testUserDto, LocalDateTime.now());
+        when(userChangeService.getChangesSince(7L, 100)).thenReturn(new UserChangesDto(List.of(change), 8L, false));
+
+        mockMvc.perform(get("/api/users/changes").param("since", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].sequence").value(8))
+                .andExpect(jsonPath("$.changes[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.changes[0].user.email").value("john@example.com"))
+                .andExpect(jsonPath("$.nextSince").value(8))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void importUsers_Csv_ReturnsCountsAndLineErrors() throws Exception {
+        when(userTransferService.importUsers(any(), eq(UserTransferFormat.CSV))).thenReturn(new UserImportResultDto(
+                2, 1, 1, List.of(new UserImportResultDto.LineError(3, "Email should be valid")), false));
+
+        mockMvc.perform(post("/api/users/import")
+                .contentType("text/csv")
+                .content("name,email,age\nJohn Doe,john@example.com,25\nJane,jane,30\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Email should be valid"));
+    }
+
+    @Test
+    void exportUsers_Csv_StreamsAttachment() throws Exception {
+        when(userTransferService.exportUsers(eq(UserTransferFormat.CSV), any())).thenAnswer(invocation -> {
+            UserTransferService.ExportTarget target = invocation.getArgument(1);
+            target.open().write("id,name,email,age\n1,John Doe,john@example.com,25\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        mockMvc.perform(get("/api/users/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=users.csv"))
+                .andExpect(content().string("id,name,email,age\n1,John Doe,john@example.com,25\n"));
+    }
+
+    @Test
+    void exportUsers_UnknownFormat_Returns400() throws Exception {
+        mockMvc.perform(get("/api/users/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(userTransferService, never()).exportUsers(any(), any());
+    }
+
     @Test
     void getAllUsers_Success() throws Exception {
         List<UserDto> users = Arrays.asList(testUserDto);
@@ -111,6 +317,31 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.message").value("User not found with ID: 1"));
     }
 
+    @Test
+    void getUserById_AcceptCbor_ReturnsCbor() throws Exception {
+        when(userService.getUserById(1L)).thenReturn(testUserDto);
+
+        byte[] body = mockMvc.perform(get("/api/users/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(testUserDto, new CBORMapper().readValue(body, UserDto.class));
+    }
+
+    @Test
+    void getUserById_UserNotFoundAcceptCbor_ReturnsCborError() throws Exception {
+        when(userService.getUserById(1L))
+                .thenThrow(new UserNotFoundException("User not found with ID: 1"));
+
+        byte[] body = mockMvc.perform(get("/api/users/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("User not found with ID: 1", new CBORMapper().readTree(body).get("message").asText());
+    }
+
     @Test
     void updateUser_Success() throws Exception {
         UserDto updatedUser = new UserDto(1L, "Jane Doe", "john@example.com", Integer.valueOf(30));
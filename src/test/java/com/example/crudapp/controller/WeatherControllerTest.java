@@ -1,19 +1,30 @@
 package com.example.crudapp.controller;
 
+import com.example.crudapp.cache.CompactForecast;
 import com.example.crudapp.dto.WeatherDto;
 import com.example.crudapp.service.WeatherService;
+import com.example.crudapp.stream.ForecastStreamBroker;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,6 +38,9 @@ class WeatherControllerTest {
     @MockBean
     private WeatherService weatherService;
 
+    @MockBean
+    private ForecastStreamBroker forecastStreamBroker;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -35,7 +49,7 @@ class WeatherControllerTest {
         String zipCode = "10001";
         WeatherDto mockWeatherData = createMockWeatherData(zipCode);
         
-        when(weatherService.getSevenDayForecast(zipCode)).thenReturn(mockWeatherData);
+        when(weatherService.getCompactForecast(zipCode)).thenReturn(CompactForecast.from(mockWeatherData));
 
         mockMvc.perform(get("/api/weather/forecast/{zipCode}", zipCode))
                 .andExpect(status().isOk())
@@ -52,11 +66,88 @@ class WeatherControllerTest {
                 .andExpect(jsonPath("$.forecast[0].windSpeed").exists());
     }
 
+    @Test
+    void getSevenDayForecast_AcceptsGzip_ShouldReturnPrecompressedForecast() throws Exception {
+        String zipCode = "10001";
+        CompactForecast forecast = CompactForecast.from(createMockWeatherData(zipCode));
+
+        when(weatherService.getCompactForecast(zipCode)).thenReturn(forecast);
+
+        byte[] body = mockMvc.perform(get("/api/weather/forecast/{zipCode}", zipCode)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem("Accept, Accept-Encoding")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertArrayEquals(forecast.getJson(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void getSevenDayForecast_GzipRejected_ShouldReturnUncompressedForecast() throws Exception {
+        String zipCode = "10001";
+
+        when(weatherService.getCompactForecast(zipCode)).thenReturn(CompactForecast.from(createMockWeatherData(zipCode)));
+
+        mockMvc.perform(get("/api/weather/forecast/{zipCode}", zipCode)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.zipCode").value(zipCode));
+    }
+
+    @Test
+    void getSevenDayForecast_GzipListedAfterRejectedWildcard_ShouldReturnPrecompressedForecast() throws Exception {
+        String zipCode = "10001";
+
+        when(weatherService.getCompactForecast(zipCode)).thenReturn(CompactForecast.from(createMockWeatherData(zipCode)));
+
+        mockMvc.perform(get("/api/weather/forecast/{zipCode}", zipCode)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "*;q=0, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void getSevenDayForecast_GzipRejectedBeforeWildcard_ShouldReturnUncompressedForecast() throws Exception {
+        String zipCode = "10001";
+
+        when(weatherService.getCompactForecast(zipCode)).thenReturn(CompactForecast.from(createMockWeatherData(zipCode)));
+
+        mockMvc.perform(get("/api/weather/forecast/{zipCode}", zipCode)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.zipCode").value(zipCode));
+    }
+
+    @Test
+    void getSevenDayForecast_AcceptSmile_ShouldReturnSmileForecast() throws Exception {
+        String zipCode = "10001";
+
+        when(weatherService.getCompactForecast(zipCode)).thenReturn(CompactForecast.from(createMockWeatherData(zipCode)));
+
+        byte[] body = mockMvc.perform(get("/api/weather/forecast/{zipCode}", zipCode)
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem("Accept, Accept-Encoding")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        WeatherDto result = new SmileMapper().findAndRegisterModules().readValue(body, WeatherDto.class);
+        assertEquals(zipCode, result.zipCode());
+        assertEquals(7, result.forecast().size());
+        assertEquals(LocalDate.now(), result.forecast().get(0).date());
+    }
+
     @Test
     void getSevenDayForecast_InvalidZipCode_ShouldReturnBadRequest() throws Exception {
         String invalidZipCode = "invalid";
         
-        when(weatherService.getSevenDayForecast(invalidZipCode))
+        when(weatherService.getCompactForecast(invalidZipCode))
                 .thenThrow(new IllegalArgumentException("Invalid zip code format. Expected format: 12345 or 12345-6789"));
 
         mockMvc.perform(get("/api/weather/forecast/{zipCode}", invalidZipCode))
@@ -70,7 +161,7 @@ class WeatherControllerTest {
         String zipCode = "90210";
         WeatherDto mockWeatherData = createMockWeatherData(zipCode);
         
-        when(weatherService.getSevenDayForecast(zipCode)).thenReturn(mockWeatherData);
+        when(weatherService.getCompactForecast(zipCode)).thenReturn(CompactForecast.from(mockWeatherData));
 
         mockMvc.perform(get("/api/weather/current/{zipCode}", zipCode))
                 .andExpect(status().isOk())
@@ -87,7 +178,7 @@ class WeatherControllerTest {
     void getCurrentWeather_InvalidZipCode_ShouldReturnBadRequest() throws Exception {
         String invalidZipCode = "12345-abc";
         
-        when(weatherService.getSevenDayForecast(invalidZipCode))
+        when(weatherService.getCompactForecast(invalidZipCode))
                 .thenThrow(new IllegalArgumentException("Invalid zip code format. Expected format: 12345 or 12345-6789"));
 
         mockMvc.perform(get("/api/weather/current/{zipCode}", invalidZipCode))
@@ -100,7 +191,7 @@ class WeatherControllerTest {
     void getSevenDayForecast_ServiceException_ShouldReturnInternalServerError() throws Exception {
         String zipCode = "10001";
         
-        when(weatherService.getSevenDayForecast(zipCode))
+        when(weatherService.getCompactForecast(zipCode))
                 .thenThrow(new RuntimeException("Weather service unavailable"));
 
         mockMvc.perform(get("/api/weather/forecast/{zipCode}", zipCode))
@@ -109,6 +200,19 @@ class WeatherControllerTest {
                 .andExpect(jsonPath("$.message").value("An unexpected error occurred"));
     }
 
+    @Test
+    void streamForecast_PaddedZipCode_SubscribesToNormalizedZipCode() throws Exception {
+        CompactForecast forecast = CompactForecast.from(createMockWeatherData("10001"));
+        when(weatherService.normalizeZipCode(" 10001")).thenReturn("10001");
+        when(weatherService.getCompactForecast("10001")).thenReturn(forecast);
+        when(forecastStreamBroker.subscribe("10001", forecast)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/weather/stream/{zipCode}", " 10001"))
+                .andExpect(request().asyncStarted());
+
+        verify(forecastStreamBroker).subscribe("10001", forecast);
+    }
+
     private WeatherDto createMockWeatherData(String zipCode) {
         List<WeatherDto.DailyForecast> forecast = Arrays.asList(
             new WeatherDto.DailyForecast(LocalDate.now(), "Sunny", 75.0, 60.0, 50, 10.0),
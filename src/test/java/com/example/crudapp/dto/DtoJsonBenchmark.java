@@ -0,0 +1,166 @@
+package com.example.crudapp.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of Jackson binding for the record DTOs against copies of the mutable Lombok
+ * {@code @Data} classes they replaced, which Jackson binds through a no-arg constructor and setters.
+ * Payloads are a list of 1,000 users and a 7-day forecast, with the mapper configured as Spring Boot does.
+ * Not run by the test suite; run it with
+ * {@code java -cp <test classpath> com.example.crudapp.dto.DtoJsonBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoJsonBenchmark {
+
+    private static final int USERS = 1_000;
+
+    private ObjectWriter writer;
+    private ObjectReader userRecordsReader;
+    private ObjectReader userBeansReader;
+    private ObjectReader forecastRecordReader;
+    private ObjectReader forecastBeanReader;
+    private List<UserDto> userRecords;
+    private List<UserBean> userBeans;
+    private WeatherDto forecastRecord;
+    private WeatherBean forecastBean;
+    private byte[] usersJson;
+    private byte[] forecastJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        userRecordsReader = objectMapper.readerFor(new TypeReference<List<UserDto>>() { });
+        userBeansReader = objectMapper.readerFor(new TypeReference<List<UserBean>>() { });
+        forecastRecordReader = objectMapper.readerFor(WeatherDto.class);
+        forecastBeanReader = objectMapper.readerFor(WeatherBean.class);
+
+        userRecords = new ArrayList<>(USERS);
+        userBeans = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            userRecords.add(new UserDto((long) i, "User " + i, "user" + i + "@example.com", 20 + i % 60));
+            userBeans.add(new UserBean((long) i, "User " + i, "user" + i + "@example.com", 20 + i % 60));
+        }
+        List<WeatherDto.DailyForecast> days = new ArrayList<>();
+        List<DailyForecastBean> dayBeans = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            LocalDate date = LocalDate.of(2026, 1, 1).plusDays(i);
+            days.add(new WeatherDto.DailyForecast(date, "Partly Cloudy", 71.5 + i, 60.25 + i, 40 + i, 5.5 + i));
+            dayBeans.add(new DailyForecastBean(date, "Partly Cloudy", 71.5 + i, 60.25 + i, 40 + i, 5.5 + i));
+        }
+        forecastRecord = new WeatherDto("New York, NY", "10001", days);
+        forecastBean = new WeatherBean("New York, NY", "10001", dayBeans);
+
+        usersJson = writer.writeValueAsBytes(userRecords);
+        forecastJson = writer.writeValueAsBytes(forecastRecord);
+        if (!new String(usersJson).equals(writer.writeValueAsString(userBeans))
+                || !new String(forecastJson).equals(writer.writeValueAsString(forecastBean))) {
+            throw new IllegalStateException("Record and bean DTOs must produce the same JSON");
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeUsersRecord() throws Exception {
+        return writer.writeValueAsBytes(userRecords);
+    }
+
+    @Benchmark
+    public byte[] serializeUsersBean() throws Exception {
+        return writer.writeValueAsBytes(userBeans);
+    }
+
+    @Benchmark
+    public List<UserDto> deserializeUsersRecord() throws Exception {
+        return userRecordsReader.readValue(usersJson);
+    }
+
+    @Benchmark
+    public List<UserBean> deserializeUsersBean() throws Exception {
+        return userBeansReader.readValue(usersJson);
+    }
+
+    @Benchmark
+    public byte[] serializeForecastRecord() throws Exception {
+        return writer.writeValueAsBytes(forecastRecord);
+    }
+
+    @Benchmark
+    public byte[] serializeForecastBean() throws Exception {
+        return writer.writeValueAsBytes(forecastBean);
+    }
+
+    @Benchmark
+    public WeatherDto deserializeForecastRecord() throws Exception {
+        return forecastRecordReader.readValue(forecastJson);
+    }
+
+    @Benchmark
+    public WeatherBean deserializeForecastBean() throws Exception {
+        return forecastBeanReader.readValue(forecastJson);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] jmhArgs = new String[args.length + 1];
+        jmhArgs[0] = DtoJsonBenchmark.class.getName();
+        System.arraycopy(args, 0, jmhArgs, 1, args.length);
+        org.openjdk.jmh.Main.main(jmhArgs);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserBean {
+        private Long id;
+        private String name;
+        private String email;
+        private Integer age;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WeatherBean {
+        private String location;
+        private String zipCode;
+        private List<DailyForecastBean> forecast;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DailyForecastBean {
+        private LocalDate date;
+        private String description;
+        private double temperatureHigh;
+        private double temperatureLow;
+        private int humidity;
+        private double windSpeed;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.crudapp.exception;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -7,8 +8,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Map;
+import java.sql.SQLException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,119 +24,160 @@ class GlobalExceptionHandlerTest {
     void handleUserNotFoundException_ShouldReturnNotFound() {
         UserNotFoundException ex = new UserNotFoundException("User not found with ID: 1");
         
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleUserNotFoundException(ex);
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleUserNotFoundException(ex);
         
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        assertEquals("User Not Found", response.getBody().get("error"));
-        assertEquals("User not found with ID: 1", response.getBody().get("message"));
-        assertEquals(404, response.getBody().get("status"));
+        assertEquals("User Not Found", response.getBody().error());
+        assertEquals("User not found with ID: 1", response.getBody().message());
+        assertEquals(404, response.getBody().status());
     }
 
     @Test
     void handleUserAlreadyExistsException_ShouldReturnConflict() {
         UserAlreadyExistsException ex = new UserAlreadyExistsException("User with email test@example.com already exists");
         
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleUserAlreadyExistsException(ex);
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleUserAlreadyExistsException(ex);
         
         assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
-        assertEquals("User Already Exists", response.getBody().get("error"));
-        assertEquals("User with email test@example.com already exists", response.getBody().get("message"));
-        assertEquals(409, response.getBody().get("status"));
+        assertEquals("User Already Exists", response.getBody().error());
+        assertEquals("User with email test@example.com already exists", response.getBody().message());
+        assertEquals(409, response.getBody().status());
+    }
+
+    @Test
+    void businessExceptions_ShouldNotCaptureStackTrace() {
+        assertEquals(0, new UserNotFoundException("User not found with ID: 1").getStackTrace().length);
+        assertEquals(0, new UserAlreadyExistsException("User with email test@example.com already exists").getStackTrace().length);
     }
 
     @Test
     void handleNullPointerException_ShouldReturnInternalServerError() {
         NullPointerException ex = new NullPointerException("Null pointer");
         
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleNullPointerException(ex);
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleNullPointerException(ex);
         
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        assertEquals("Null Pointer Error", response.getBody().get("error"));
-        assertEquals("A required value was null", response.getBody().get("message"));
-        assertEquals(500, response.getBody().get("status"));
+        assertEquals("Null Pointer Error", response.getBody().error());
+        assertEquals("A required value was null", response.getBody().message());
+        assertEquals(500, response.getBody().status());
     }
 
     @Test
     void handleIndexOutOfBoundsException_ShouldReturnBadRequest() {
         IndexOutOfBoundsException ex = new IndexOutOfBoundsException("Index out of bounds");
         
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleIndexOutOfBoundsException(ex);
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleIndexOutOfBoundsException(ex);
         
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        assertEquals("Index Out of Bounds", response.getBody().get("error"));
-        assertEquals("Invalid index or range specified", response.getBody().get("message"));
-        assertEquals(400, response.getBody().get("status"));
+        assertEquals("Index Out of Bounds", response.getBody().error());
+        assertEquals("Invalid index or range specified", response.getBody().message());
+        assertEquals(400, response.getBody().status());
     }
 
     @Test
     void handleIllegalArgumentException_ShouldReturnBadRequest() {
         IllegalArgumentException ex = new IllegalArgumentException("Invalid argument provided");
         
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleIllegalArgumentException(ex);
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleIllegalArgumentException(ex);
         
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        assertEquals("Invalid Argument", response.getBody().get("error"));
-        assertEquals("Invalid argument provided", response.getBody().get("message"));
-        assertEquals(400, response.getBody().get("status"));
+        assertEquals("Invalid Argument", response.getBody().error());
+        assertEquals("Invalid argument provided", response.getBody().message());
+        assertEquals(400, response.getBody().status());
+    }
+
+    @Test
+    void handleInvalidZipCodeException_ShouldReturnBadRequest() {
+        InvalidZipCodeException ex = new InvalidZipCodeException("Invalid zip code format. Expected format: 12345 or 12345-6789");
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleInvalidZipCodeException(ex);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid Argument", response.getBody().error());
+        assertEquals("Invalid zip code format. Expected format: 12345 or 12345-6789", response.getBody().message());
     }
 
     @Test
     void handleIllegalStateException_ShouldReturnConflict() {
         IllegalStateException ex = new IllegalStateException("Operation not allowed");
         
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleIllegalStateException(ex);
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleIllegalStateException(ex);
         
         assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
-        assertEquals("Invalid State", response.getBody().get("error"));
-        assertEquals("Operation not allowed", response.getBody().get("message"));
-        assertEquals(409, response.getBody().get("status"));
+        assertEquals("Invalid State", response.getBody().error());
+        assertEquals("Operation not allowed", response.getBody().message());
+        assertEquals(409, response.getBody().status());
     }
 
     @Test
     void handleNumberFormatException_ShouldReturnBadRequest() {
         NumberFormatException ex = new NumberFormatException("Invalid number");
         
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleNumberFormatException(ex);
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleNumberFormatException(ex);
         
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        assertEquals("Invalid Number Format", response.getBody().get("error"));
-        assertEquals("Invalid number format provided", response.getBody().get("message"));
-        assertEquals(400, response.getBody().get("status"));
+        assertEquals("Invalid Number Format", response.getBody().error());
+        assertEquals("Invalid number format provided", response.getBody().message());
+        assertEquals(400, response.getBody().status());
     }
 
     @Test
     void handleDataIntegrityViolationException_ShouldReturnConflict() {
         DataIntegrityViolationException ex = new DataIntegrityViolationException("Constraint violation");
         
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleDataIntegrityViolationException(ex);
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(ex);
         
         assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
-        assertEquals("Data Integrity Violation", response.getBody().get("error"));
-        assertEquals("Data constraint violation occurred", response.getBody().get("message"));
-        assertEquals(409, response.getBody().get("status"));
+        assertEquals("Data Integrity Violation", response.getBody().error());
+        assertEquals("Data constraint violation occurred", response.getBody().message());
+        assertEquals(409, response.getBody().status());
+    }
+
+    @Test
+    void handleDataIntegrityViolationException_DuplicateEmail_ShouldReturnUserAlreadyExists() {
+        ConstraintViolationException violation = new ConstraintViolationException(
+            "Unique index or primary key violation", new SQLException("duplicate"), "PUBLIC.UK_USERS_EMAIL_INDEX_4");
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("Constraint violation", violation);
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(ex);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("User Already Exists", response.getBody().error());
     }
 
     @Test
     void handleClassCastException_ShouldReturnInternalServerError() {
         ClassCastException ex = new ClassCastException("Invalid cast");
         
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleClassCastException(ex);
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleClassCastException(ex);
         
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        assertEquals("Type Conversion Error", response.getBody().get("error"));
-        assertEquals("Invalid type conversion attempted", response.getBody().get("message"));
-        assertEquals(500, response.getBody().get("status"));
+        assertEquals("Type Conversion Error", response.getBody().error());
+        assertEquals("Invalid type conversion attempted", response.getBody().message());
+        assertEquals(500, response.getBody().status());
+    }
+
+    @Test
+    void handleResponseStatusException_ShouldKeepStatusAndReason() {
+        ResponseStatusException ex = new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parameter mapping failure");
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleResponseStatusException(ex);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Bad Request", response.getBody().error());
+        assertEquals("Parameter mapping failure", response.getBody().message());
+        assertEquals(400, response.getBody().status());
     }
 
     @Test
     void handleGenericException_ShouldReturnInternalServerError() {
         RuntimeException ex = new RuntimeException("Generic runtime exception");
         
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleGenericException(ex);
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleGenericException(ex);
         
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        assertEquals("Internal Server Error", response.getBody().get("error"));
-        assertEquals("An unexpected error occurred", response.getBody().get("message"));
-        assertEquals(500, response.getBody().get("status"));
+        assertEquals("Internal Server Error", response.getBody().error());
+        assertEquals("An unexpected error occurred", response.getBody().message());
+        assertEquals(500, response.getBody().status());
     }
 }
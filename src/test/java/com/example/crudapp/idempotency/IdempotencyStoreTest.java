@@ -0,0 +1,137 @@
+package com.example.crudapp.idempotency;
+
+import com.example.crudapp.exception.IdempotencyKeyConflictException;
+import com.example.crudapp.exception.IdempotencyKeyMismatchException;
+import com.example.crudapp.exception.UserAlreadyExistsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private static final String ENDPOINT = "POST /api/users";
+    private static final String CLIENT = "ip:10.0.0.1";
+
+    private final IdempotencyStore store = new IdempotencyStore(Duration.ofHours(1), Duration.ofMinutes(5), 100);
+
+    @Test
+    void execute_SameKeyAndRequest_RunsActionOnce() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ResponseEntity<String> first = store.execute("key", CLIENT, ENDPOINT, "request",
+                () -> new ResponseEntity<>("created-" + calls.incrementAndGet(), HttpStatus.CREATED));
+        ResponseEntity<String> second = store.execute("key", CLIENT, ENDPOINT, "request",
+                () -> new ResponseEntity<>("created-" + calls.incrementAndGet(), HttpStatus.CREATED));
+
+        assertEquals(1, calls.get());
+        assertEquals(HttpStatus.CREATED, second.getStatusCode());
+        assertEquals(first.getBody(), second.getBody());
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void execute_SameKeyDifferentRequest_ThrowsMismatch() {
+        store.execute("key", CLIENT, ENDPOINT, "request", () -> ResponseEntity.ok("done"));
+
+        assertThrows(IdempotencyKeyMismatchException.class,
+                () -> store.execute("key", CLIENT, ENDPOINT, "other request", () -> ResponseEntity.ok("done")));
+    }
+
+    @Test
+    void execute_SameKeyOnAnotherEndpoint_ThrowsMismatchWithoutReplaying() {
+        store.execute("key", CLIENT, ENDPOINT, "request", () -> new ResponseEntity<>("created", HttpStatus.CREATED));
+
+        IdempotencyKeyMismatchException exception = assertThrows(IdempotencyKeyMismatchException.class,
+                () -> store.execute("key", CLIENT, "POST /api/users?async=true", "request",
+                        () -> ResponseEntity.accepted().body(42)));
+        assertTrue(exception.getMessage().contains(ENDPOINT));
+    }
+
+    @Test
+    void execute_KeyStillInProgress_ThrowsConflict() {
+        assertThrows(IdempotencyKeyConflictException.class, () -> store.execute("key", CLIENT, ENDPOINT, "request",
+                () -> store.execute("key", CLIENT, ENDPOINT, "request", () -> ResponseEntity.ok("nested"))));
+    }
+
+    @Test
+    void execute_FailedAction_IsNotRemembered() {
+        assertThrows(UserAlreadyExistsException.class, () -> store.execute("key", CLIENT, ENDPOINT, "request", () -> {
+            throw new UserAlreadyExistsException("exists");
+        }));
+
+        ResponseEntity<String> retry = store.execute("key", CLIENT, ENDPOINT, "request", () -> ResponseEntity.ok("done"));
+
+        assertEquals("done", retry.getBody());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void execute_ActionThrowsError_ReleasesKey() {
+        assertThrows(StackOverflowError.class, () -> store.execute("key", CLIENT, ENDPOINT, "request", () -> {
+            throw new StackOverflowError();
+        }));
+
+        ResponseEntity<String> retry = store.execute("key", CLIENT, ENDPOINT, "request", () -> ResponseEntity.ok("done"));
+
+        assertEquals("done", retry.getBody());
+    }
+
+    @Test
+    void execute_PendingPastPendingTtl_NoLongerBlocksKey() {
+        IdempotencyStore expiringPending = new IdempotencyStore(Duration.ofHours(1), Duration.ZERO, 100);
+
+        ResponseEntity<String> response = expiringPending.execute("key", CLIENT, ENDPOINT, "request",
+                () -> expiringPending.execute("key", CLIENT, ENDPOINT, "request", () -> ResponseEntity.ok("retry")));
+
+        assertEquals("retry", response.getBody());
+    }
+
+    @Test
+    void execute_SameKeyFromAnotherClient_RunsSeparately() {
+        AtomicInteger calls = new AtomicInteger();
+
+        store.execute("key", CLIENT, ENDPOINT, "request", () -> ResponseEntity.ok(calls.incrementAndGet()));
+        ResponseEntity<Integer> other = store.execute("key", "ip:10.0.0.2", ENDPOINT, "other request",
+                () -> ResponseEntity.ok(calls.incrementAndGet()));
+
+        assertEquals(2, calls.get());
+        assertEquals(2, other.getBody());
+        assertNull(other.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void execute_InvalidKey_ThrowsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class,
+                () -> store.execute(" ", CLIENT, ENDPOINT, "request", () -> ResponseEntity.ok("done")));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.execute("k".repeat(256), CLIENT, ENDPOINT, "request", () -> ResponseEntity.ok("done")));
+    }
+
+    @Test
+    void execute_ExpiredKey_RunsActionAgain() {
+        IdempotencyStore expiring = new IdempotencyStore(Duration.ZERO, Duration.ofMinutes(5), 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        expiring.execute("key", CLIENT, ENDPOINT, "request", () -> ResponseEntity.ok(calls.incrementAndGet()));
+        expiring.execute("key", CLIENT, ENDPOINT, "other request", () -> ResponseEntity.ok(calls.incrementAndGet()));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_AtCapacity_EvictsToStayBounded() {
+        IdempotencyStore bounded = new IdempotencyStore(Duration.ofHours(1), Duration.ofMinutes(5), 3);
+
+        for (int i = 0; i < 10; i++) {
+            bounded.execute("key-" + i, CLIENT, ENDPOINT, "request", () -> ResponseEntity.ok("done"));
+        }
+
+        assertEquals(3, bounded.size());
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.crudapp.ingest;
+
+import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.exception.IngestQueueFullException;
+import com.example.crudapp.exception.UserAlreadyExistsException;
+import com.example.crudapp.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class UserIngestQueueTest {
+
+    private final UserService userService = mock(UserService.class);
+    private UserIngestQueue queue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (queue != null) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void submit_ProcessedByWorker_TicketReportsCreatedUser() throws Exception {
+        UserDto john = new UserDto(null, "John Doe", "john@example.com", 25);
+        UserDto jane = new UserDto(null, "Jane Doe", "jane@example.com", 30);
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> {
+            List<UserDto> batch = invocation.getArgument(0);
+            return batch.stream()
+                    .map(user -> user.email().startsWith("john") ? new UserDto(1L, user.name(), user.email(), user.age()) : null)
+                    .toList();
+        });
+        queue = startQueue(10);
+
+        IngestTicket johnTicket = queue.submit(john);
+        IngestTicket janeTicket = queue.submit(jane);
+
+        assertEquals(IngestTicket.State.PENDING, johnTicket.state());
+        IngestTicket created = awaitFinished(johnTicket.id());
+        IngestTicket failed = awaitFinished(janeTicket.id());
+        assertEquals(IngestTicket.State.CREATED, created.state());
+        assertEquals(1L, created.userId());
+        assertEquals(IngestTicket.State.FAILED, failed.state());
+        assertEquals("User with email jane@example.com already exists", failed.message());
+    }
+
+    @Test
+    void submit_QueueFull_ThrowsIngestQueueFullException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Arrays.asList(new UserDto[((List<?>) invocation.getArgument(0)).size()]);
+        });
+        queue = startQueue(1);
+        UserDto user = new UserDto(null, "John Doe", "john@example.com", 25);
+
+        queue.submit(user);
+        verify(userService, timeout(5000)).createUsers(anyList());
+        queue.submit(user);
+
+        try {
+            assertThrows(IngestQueueFullException.class, () -> queue.submit(user));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void submit_BatchConflict_RetriesOneAtATime() throws Exception {
+        UserDto user = new UserDto(null, "John Doe", "john@example.com", 25);
+        when(userService.createUsers(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(userService.createUser(user))
+                .thenReturn(new UserDto(7L, "John Doe", "john@example.com", 25))
+                .thenThrow(new UserAlreadyExistsException("exists"));
+        queue = startQueue(10);
+
+        IngestTicket ticket = queue.submit(user);
+
+        IngestTicket finished = awaitFinished(ticket.id());
+        assertEquals(IngestTicket.State.CREATED, finished.state());
+        assertEquals(7L, finished.userId());
+    }
+
+    @Test
+    void submit_RetryFailsPartwayThroughBatch_KeepsOutcomeOfUsersAlreadyCreated() throws Exception {
+        UserDto blocker = new UserDto(null, "Blocker", "blocker@example.com", 20);
+        UserDto john = new UserDto(null, "John Doe", "john@example.com", 25);
+        UserDto jane = new UserDto(null, "Jane Doe", "jane@example.com", 30);
+        UserDto jim = new UserDto(null, "Jim Doe", "jim@example.com", 35);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> {
+            List<UserDto> batch = invocation.getArgument(0);
+            if (batch.contains(blocker)) {
+                release.await(5, TimeUnit.SECONDS);
+                return List.of(new UserDto(1L, "Blocker", "blocker@example.com", 20));
+            }
+            throw new DataIntegrityViolationException("duplicate");
+        });
+        when(userService.createUser(john)).thenReturn(new UserDto(2L, "John Doe", "john@example.com", 25));
+        when(userService.createUser(jane)).thenThrow(new IllegalStateException("connection lost"));
+        queue = startQueue(10);
+
+        queue.submit(blocker);
+        verify(userService, timeout(5000)).createUsers(anyList());
+        IngestTicket johnTicket = queue.submit(john);
+        IngestTicket janeTicket = queue.submit(jane);
+        IngestTicket jimTicket = queue.submit(jim);
+        release.countDown();
+
+        IngestTicket notAttempted = awaitFinished(jimTicket.id());
+        assertEquals(IngestTicket.State.FAILED, notAttempted.state());
+        assertEquals("Internal error while creating user", notAttempted.message());
+        assertEquals(IngestTicket.State.FAILED, queue.getTicket(janeTicket.id()).state());
+        IngestTicket created = queue.getTicket(johnTicket.id());
+        assertEquals(IngestTicket.State.CREATED, created.state());
+        assertEquals(2L, created.userId());
+        verify(userService, never()).createUser(jim);
+    }
+
+    @Test
+    void evictExpiredTickets_RemovesFinishedTickets() throws Exception {
+        when(userService.createUsers(anyList())).thenReturn(Arrays.asList((UserDto) null));
+        queue = new UserIngestQueue(userService, 10, 1, 100, Duration.ZERO, 100);
+        queue.start();
+
+        IngestTicket ticket = queue.submit(new UserDto(null, "John Doe", "john@example.com", 25));
+        awaitFinished(ticket.id());
+        Thread.sleep(5);
+        queue.evictExpiredTickets();
+
+        assertNull(queue.getTicket(ticket.id()));
+    }
+
+    @Test
+    void submit_TicketCapReached_DropsOldestFinishedTicket() throws Exception {
+        when(userService.createUsers(anyList())).thenReturn(Arrays.asList((UserDto) null));
+        queue = startQueue(10, 3);
+        UserDto user = new UserDto(null, "John Doe", "john@example.com", 25);
+        List<String> ticketIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ticketIds.add(queue.submit(user).id());
+            awaitFinished(ticketIds.get(i));
+            Thread.sleep(5);
+        }
+
+        IngestTicket latest = queue.submit(user);
+
+        assertNull(queue.getTicket(ticketIds.get(0)));
+        assertNotNull(queue.getTicket(ticketIds.get(1)));
+        assertNotNull(queue.getTicket(ticketIds.get(2)));
+        assertNotNull(queue.getTicket(latest.id()));
+    }
+
+    @Test
+    void submit_TicketCapReachedByPendingTickets_ThrowsIngestQueueFullException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Arrays.asList(new UserDto[((List<?>) invocation.getArgument(0)).size()]);
+        });
+        queue = startQueue(10, 2);
+        UserDto user = new UserDto(null, "John Doe", "john@example.com", 25);
+
+        IngestTicket first = queue.submit(user);
+        IngestTicket second = queue.submit(user);
+
+        try {
+            assertThrows(IngestQueueFullException.class, () -> queue.submit(user));
+            assertNotNull(queue.getTicket(first.id()));
+            assertNotNull(queue.getTicket(second.id()));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void submit_AfterStop_ThrowsServiceUnavailable() throws Exception {
+        queue = startQueue(10);
+        queue.stop();
+
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+                () -> queue.submit(new UserDto(null, "John Doe", "john@example.com", 25)));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+    }
+
+    private UserIngestQueue startQueue(int capacity) {
+        return startQueue(capacity, 100);
+    }
+
+    private UserIngestQueue startQueue(int capacity, int maxTickets) {
+        UserIngestQueue started = new UserIngestQueue(userService, capacity, 1, 100, Duration.ofHours(1), maxTickets);
+        started.start();
+        return started;
+    }
+
+    private IngestTicket awaitFinished(String ticketId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        IngestTicket ticket = queue.getTicket(ticketId);
+        while (ticket != null && !ticket.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            ticket = queue.getTicket(ticketId);
+        }
+        return ticket;
+    }
+}
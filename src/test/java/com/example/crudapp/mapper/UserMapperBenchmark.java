@@ -0,0 +1,74 @@
+package com.example.crudapp.mapper;
+
+import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Microbenchmark of the generated {@link UserMapper} over 100,000-element lists. {@code streamToDtos} maps
+ * one user at a time through a stream and a collector, as {@code UserService.getAllUsers} did before the
+ * bulk methods; {@code toDtos} and {@code toEntities} are the presized bulk methods that replaced it.
+ * Not run by the test suite; run it with
+ * {@code java -cp <test classpath> com.example.crudapp.mapper.UserMapperBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    private static final int SIZE = 100_000;
+
+    private UserMapper userMapper;
+    private List<User> users;
+    private List<UserDto> userDtos;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapperImpl();
+        users = new ArrayList<>(SIZE);
+        userDtos = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            users.add(new User((long) i, "User " + i, "user" + i + "@example.com", 20 + i % 60));
+            userDtos.add(new UserDto(null, "User " + i, "user" + i + "@example.com", 20 + i % 60));
+        }
+    }
+
+    @Benchmark
+    public List<UserDto> streamToDtos() {
+        return users.stream().map(userMapper::toDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<UserDto> toDtos() {
+        return userMapper.toDtos(users);
+    }
+
+    @Benchmark
+    public List<User> toEntities() {
+        return userMapper.toEntities(userDtos);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] jmhArgs = new String[args.length + 1];
+        jmhArgs[0] = UserMapperBenchmark.class.getName();
+        System.arraycopy(args, 0, jmhArgs, 1, args.length);
+        org.openjdk.jmh.Main.main(jmhArgs);
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.crudapp.mapper;
 
+import com.example.crudapp.dto.UserChangeDto;
 import com.example.crudapp.dto.UserDto;
 import com.example.crudapp.entity.User;
+import com.example.crudapp.entity.UserChange;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class UserMapperTest {
@@ -15,7 +21,7 @@ class UserMapperTest {
 
     @BeforeEach
     void setUp() {
-        userMapper = new UserMapper();
+        userMapper = new UserMapperImpl();
         
         testUser = new User(1L, "John Doe", "john@example.com", 25);
         
@@ -27,10 +33,10 @@ class UserMapperTest {
         UserDto result = userMapper.toDto(testUser);
 
         assertNotNull(result);
-        assertEquals(testUser.getId(), result.getId());
-        assertEquals(testUser.getName(), result.getName());
-        assertEquals(testUser.getEmail(), result.getEmail());
-        assertEquals(testUser.getAge(), result.getAge());
+        assertEquals(testUser.getId(), result.id());
+        assertEquals(testUser.getName(), result.name());
+        assertEquals(testUser.getEmail(), result.email());
+        assertEquals(testUser.getAge(), result.age());
     }
 
     @Test
@@ -45,10 +51,10 @@ class UserMapperTest {
         User result = userMapper.toEntity(testUserDto);
 
         assertNotNull(result);
-        assertEquals(testUserDto.getId(), result.getId());
-        assertEquals(testUserDto.getName(), result.getName());
-        assertEquals(testUserDto.getEmail(), result.getEmail());
-        assertEquals(testUserDto.getAge(), result.getAge());
+        assertEquals(testUserDto.id(), result.getId());
+        assertEquals(testUserDto.name(), result.getName());
+        assertEquals(testUserDto.email(), result.getEmail());
+        assertEquals(testUserDto.age(), result.getAge());
     }
 
     @Test
@@ -82,4 +88,44 @@ class UserMapperTest {
         assertEquals(originalEmail, testUser.getEmail());
         assertEquals(originalAge, testUser.getAge());
     }
+
+    @Test
+    void toDtos_ValidUsers_ReturnsUserDtosInOrder() {
+        User secondUser = new User(2L, "Jane Doe", "jane@example.com", 30);
+
+        List<UserDto> result = userMapper.toDtos(Arrays.asList(testUser, secondUser));
+
+        assertEquals(Arrays.asList(testUserDto, new UserDto(2L, "Jane Doe", "jane@example.com", 30)), result);
+    }
+
+    @Test
+    void toEntities_ValidUserDtos_ReturnsUsersInOrder() {
+        List<User> result = userMapper.toEntities(Arrays.asList(testUserDto));
+
+        assertEquals(1, result.size());
+        assertEquals(testUser, result.get(0));
+    }
+
+    @Test
+    void toChangeDto_UpdatedUser_IncludesUserSnapshot() {
+        UserChange change = UserChange.of(UserChange.Type.UPDATED, testUser);
+        change.setSequence(5L);
+
+        UserChangeDto result = userMapper.toChangeDto(change);
+
+        assertEquals(5L, result.sequence());
+        assertEquals("UPDATED", result.type());
+        assertEquals(testUserDto, result.user());
+    }
+
+    @Test
+    void toChangeDto_DeletedUser_OmitsUserSnapshot() {
+        UserChange change = new UserChange(6L, UserChange.Type.DELETED, 1L, null, null, null, LocalDateTime.now());
+
+        UserChangeDto result = userMapper.toChangeDto(change);
+
+        assertEquals("DELETED", result.type());
+        assertEquals(1L, result.userId());
+        assertNull(result.user());
+    }
 }
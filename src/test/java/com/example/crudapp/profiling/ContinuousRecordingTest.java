@@ -0,0 +1,71 @@
+package com.example.crudapp.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContinuousRecordingTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ContinuousRecording recording;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        recording = new ContinuousRecording("default", Duration.ofMinutes(5), DataSize.ofMegabytes(16));
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.stop();
+    }
+
+    @Test
+    void dump_ContainsCustomEventsRecordedSinceStart() throws Exception {
+        UserOperationEvent userEvent = UserOperationEvent.start("create");
+        userEvent.setUserId(7L);
+        userEvent.setCount(1);
+        userEvent.succeeded();
+        userEvent.commit();
+        ForecastLoadEvent loadEvent = ForecastLoadEvent.start("10001");
+        loadEvent.fallback();
+        loadEvent.commit();
+        UpstreamCallEvent callEvent = UpstreamCallEvent.start("weather-api", "10001");
+        callEvent.commit();
+
+        Path file = tempDir.resolve("dump.jfr");
+        recording.dump(Duration.ofMinutes(1), file);
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent user = find(events, "com.example.crudapp.UserOperation");
+        assertEquals("create", user.getString("operation"));
+        assertEquals(7L, user.getLong("userId"));
+        assertTrue(user.getBoolean("succeeded"));
+        RecordedEvent load = find(events, "com.example.crudapp.ForecastLoad");
+        assertEquals("10001", load.getString("zipCode"));
+        assertTrue(load.getBoolean("fallback"));
+        RecordedEvent call = find(events, "com.example.crudapp.UpstreamCall");
+        assertEquals("weather-api", call.getString("service"));
+        assertFalse(call.getBoolean("succeeded"));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().startsWith("jdk.")));
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " event in dump"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.crudapp.profiling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class FlightRecordingEndpointTest {
+
+    private final ContinuousRecording recording = mock(ContinuousRecording.class);
+    private final FlightRecordingEndpoint endpoint = new FlightRecordingEndpoint(recording);
+
+    @Test
+    void dump_NoDuration_DumpsDefaultWindowAndDeletesFileAfterReading() throws Exception {
+        doAnswer(invocation -> Files.write(invocation.getArgument(1, Path.class), new byte[] {1, 2, 3}))
+                .when(recording).dump(eq(FlightRecordingEndpoint.DEFAULT_LAST), any(Path.class));
+
+        WebEndpointResponse<Resource> response = endpoint.dump(null);
+
+        assertEquals(200, response.getStatus());
+        Path file = response.getBody().getFile().toPath();
+        try (InputStream in = response.getBody().getInputStream()) {
+            assertArrayEquals(new byte[] {1, 2, 3}, in.readAllBytes());
+        }
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void dump_DumpFails_DeletesFileAndPropagates() {
+        doThrow(new UncheckedIOException(new IOException("disk full"))).when(recording).dump(any(), any());
+
+        assertThrows(UncheckedIOException.class, () -> endpoint.dump(Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void dump_AnotherDumpInProgress_ReturnsTooManyRequests() throws Exception {
+        CountDownLatch dumping = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            dumping.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(recording).dump(any(), any());
+
+        CompletableFuture<WebEndpointResponse<Resource>> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return endpoint.dump(Duration.ofMinutes(1));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(dumping.await(5, TimeUnit.SECONDS));
+
+        assertEquals(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS, endpoint.dump(Duration.ofMinutes(1)).getStatus());
+        release.countDown();
+        WebEndpointResponse<Resource> firstResponse = first.get(5, TimeUnit.SECONDS);
+        assertEquals(200, firstResponse.getStatus());
+        Files.deleteIfExists(firstResponse.getBody().getFile().toPath());
+    }
+}
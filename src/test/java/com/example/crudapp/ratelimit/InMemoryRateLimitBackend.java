@@ -0,0 +1,45 @@
+package com.example.crudapp.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-in for a shared backend such as Redis, so several {@link SharedRateLimitStore} instances in one
+ * test can act as separate nodes sharing their buckets.
+ */
+class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public long get(String key) {
+        Entry entry = entries.get(key);
+        return entry == null || entry.isExpired() ? ABSENT : entry.value;
+    }
+
+    @Override
+    public boolean compareAndSet(String key, long expected, long update, long ttlMillis) {
+        Entry next = new Entry(update, System.currentTimeMillis() + ttlMillis);
+        if (expected == ABSENT) {
+            Entry current = entries.get(key);
+            if (current == null) {
+                return entries.putIfAbsent(key, next) == null;
+            }
+            return current.isExpired() && entries.replace(key, current, next);
+        }
+        Entry current = entries.get(key);
+        return current != null && !current.isExpired() && current.value == expected
+                && entries.replace(key, current, next);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private record Entry(long value, long expiresAtMillis) {
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.crudapp.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalRateLimitStoreTest {
+
+    private final LocalRateLimitStore store = new LocalRateLimitStore(new TokenBucketPolicy(5, 0.1), 3);
+
+    @Test
+    void tryAcquire_OverCapacity_ReturnsWait() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0L, store.tryAcquire("ip:10.0.0.1"));
+        }
+
+        long waitNanos = store.tryAcquire("ip:10.0.0.1");
+
+        assertTrue(waitNanos > 9_000_000_000L, "wait was " + waitNanos);
+    }
+
+    @Test
+    void tryAcquire_ClientsHaveSeparateBuckets() {
+        for (int i = 0; i < 5; i++) {
+            store.tryAcquire("key:noisy");
+        }
+
+        assertTrue(store.tryAcquire("key:noisy") > 0);
+        assertEquals(0L, store.tryAcquire("key:quiet"));
+    }
+
+    @Test
+    void tryAcquire_TableFull_DropsABucket() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        store.bindTo(registry);
+        for (int i = 0; i < 10; i++) {
+            store.tryAcquire("ip:10.0.0." + i);
+        }
+
+        assertEquals(3, store.size());
+        assertEquals(7.0, registry.get("api.rate.limit.evictions").functionCounter().count());
+        assertEquals(3.0, registry.get("api.rate.limit.clients").gauge().value());
+    }
+
+    @Test
+    void evictFull_RemovesOnlyRefilledBuckets() {
+        LocalRateLimitStore fast = new LocalRateLimitStore(new TokenBucketPolicy(5, 1_000_000_000.0), 10);
+        store.tryAcquire("ip:10.0.0.1");
+        fast.tryAcquire("ip:10.0.0.1");
+
+        store.evictFull();
+        fast.evictFull();
+
+        assertEquals(1, store.size());
+        assertEquals(0, fast.size());
+    }
+
+    @Test
+    void tryAcquire_ConcurrentClients_AdmitExactlyCapacity() throws Exception {
+        LocalRateLimitStore shared = new LocalRateLimitStore(new TokenBucketPolicy(100, 0.001), 10);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 100; i++) {
+                    if (shared.tryAcquire("key:hot") == 0L) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, admitted.get());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.crudapp.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.example.crudapp.warmup.WarmupToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final WarmupToken warmupToken = new WarmupToken();
+    private final LocalRateLimitStore store = new LocalRateLimitStore(new TokenBucketPolicy(2, 0.5), 100);
+    private final RateLimitFilter filter =
+            new RateLimitFilter(store, Jackson2ObjectMapperBuilder.json().build(), "X-API-Key", warmupToken);
+
+    @Test
+    void doFilter_OverLimit_RejectsWith429AndRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request("/api/weather/forecast/10001", null), new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest());
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("/api/users", null), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"status\":429"));
+    }
+
+    @Test
+    void doFilter_ApiKeysLimitedSeparatelyFromAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            filter.doFilter(request("/api/users/1", null), new MockHttpServletResponse(), new MockFilterChain());
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("/api/users/1", "partner-a"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void clientKey_BlankHeaderSetting_UsesAddressOnly() {
+        RateLimitFilter byAddress = new RateLimitFilter(store, Jackson2ObjectMapperBuilder.json().build(), "", null);
+
+        assertEquals("ip:10.1.2.3", byAddress.clientKey(request("/api/users", "partner-a")));
+        assertEquals("key:partner-a", filter.clientKey(request("/api/users", "partner-a")));
+    }
+
+    @Test
+    void shouldNotFilter_OtherPaths_Skipped() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("/actuator/health", null), response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void shouldNotFilter_WarmupRequests_SkippedUntilRevoked() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = request("/api/users/1", null);
+            request.addHeader(WarmupToken.HEADER, warmupToken.value());
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+        assertEquals(0, store.size());
+
+        warmupToken.revoke();
+        MockHttpServletRequest request = request("/api/users/1", null);
+        request.addHeader(WarmupToken.HEADER, warmupToken.value());
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void bindTo_CountsRejections() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request("/api/users", null), new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        assertEquals(1.0, registry.get("api.rate.limit.rejected").functionCounter().count());
+    }
+
+    private static MockHttpServletRequest request(String uri, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr("10.1.2.3");
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.crudapp.ratelimit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of the per-request cost of {@link LocalRateLimitStore}. Not run by the test suite;
+ * run it with {@code java -cp <test classpath> com.example.crudapp.ratelimit.RateLimitStoreBenchmark},
+ * adding JMH options such as {@code -t 4} to measure contention on a single client's bucket.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitStoreBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private LocalRateLimitStore admitting;
+    private LocalRateLimitStore rejecting;
+    private String[] addresses;
+
+    @Setup
+    public void setUp() {
+        admitting = new LocalRateLimitStore(new TokenBucketPolicy(1_000, 1_000_000_000.0), 100_000);
+        rejecting = new LocalRateLimitStore(new TokenBucketPolicy(1, 0.001), 100_000);
+        rejecting.tryAcquire("key:noisy");
+        addresses = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            addresses[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+            admitting.tryAcquire("ip:" + addresses[i]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public long singleClientAdmitted() {
+        return admitting.tryAcquire("key:partner");
+    }
+
+    @Benchmark
+    public long singleClientRejected() {
+        return rejecting.tryAcquire("key:noisy");
+    }
+
+    @Benchmark
+    public long manyClientsWithKeyConcat(Cursor cursor) {
+        String address = addresses[cursor.next++ % CLIENTS];
+        return admitting.tryAcquire("ip:" + address);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] jmhArgs = new String[args.length + 1];
+        jmhArgs[0] = RateLimitStoreBenchmark.class.getName();
+        System.arraycopy(args, 0, jmhArgs, 1, args.length);
+        org.openjdk.jmh.Main.main(jmhArgs);
+    }
+}
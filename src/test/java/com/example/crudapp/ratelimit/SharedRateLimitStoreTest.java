@@ -0,0 +1,37 @@
+package com.example.crudapp.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedRateLimitStoreTest {
+
+    private final InMemoryRateLimitBackend backend = new InMemoryRateLimitBackend();
+    private final TokenBucketPolicy policy = new TokenBucketPolicy(4, 0.1);
+    private final SharedRateLimitStore nodeA = new SharedRateLimitStore(backend, policy);
+    private final SharedRateLimitStore nodeB = new SharedRateLimitStore(backend, policy);
+
+    @Test
+    void tryAcquire_NodesShareOneBucketPerClient() {
+        assertEquals(0L, nodeA.tryAcquire("key:partner"));
+        assertEquals(0L, nodeB.tryAcquire("key:partner"));
+        assertEquals(0L, nodeA.tryAcquire("key:partner"));
+        assertEquals(0L, nodeB.tryAcquire("key:partner"));
+
+        assertTrue(nodeA.tryAcquire("key:partner") > 0);
+        assertTrue(nodeB.tryAcquire("key:partner") > 0);
+        assertEquals(0L, nodeB.tryAcquire("key:other"));
+        assertEquals(2, backend.size());
+    }
+
+    @Test
+    void tryAcquire_RefilledBucketExpiresFromBackend() throws Exception {
+        SharedRateLimitStore fast = new SharedRateLimitStore(backend, new TokenBucketPolicy(1, 1000.0));
+        assertEquals(0L, fast.tryAcquire("ip:10.0.0.1"));
+
+        Thread.sleep(5);
+
+        assertEquals(RateLimitBackend.ABSENT, backend.get("rate-limit:ip:10.0.0.1"));
+        assertEquals(0L, fast.tryAcquire("ip:10.0.0.1"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.crudapp.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketPolicyTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final TokenBucketPolicy policy = new TokenBucketPolicy(3, 1.0);
+
+    @Test
+    void admit_FullBucket_AdmitsCapacityThenRejects() {
+        long now = 5 * SECOND;
+        long arrival = now;
+        for (int i = 0; i < 3; i++) {
+            arrival = policy.admit(arrival, now);
+            assertNotEquals(TokenBucketPolicy.REJECTED, arrival);
+        }
+
+        assertEquals(TokenBucketPolicy.REJECTED, policy.admit(arrival, now));
+        assertEquals(SECOND, policy.waitNanos(arrival, now));
+    }
+
+    @Test
+    void admit_AfterRefillInterval_AdmitsOneMore() {
+        long now = 0;
+        long arrival = now;
+        for (int i = 0; i < 3; i++) {
+            arrival = policy.admit(arrival, now);
+        }
+
+        long later = policy.admit(arrival, now + SECOND);
+
+        assertNotEquals(TokenBucketPolicy.REJECTED, later);
+        assertEquals(TokenBucketPolicy.REJECTED, policy.admit(later, now + SECOND));
+    }
+
+    @Test
+    void isFull_OnceArrivalTimeHasPassed() {
+        long arrival = policy.admit(0, 0);
+
+        assertFalse(policy.isFull(arrival, 0));
+        assertTrue(policy.isFull(arrival, SECOND));
+    }
+
+    @Test
+    void admit_NegativeClockValues_StillOrdered() {
+        long now = Long.MIN_VALUE + SECOND;
+        long arrival = policy.admit(now, now);
+
+        assertEquals(now + SECOND, arrival);
+    }
+
+    @Test
+    void constructor_InvalidSettings_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketPolicy(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketPolicy(1, 0));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.crudapp.repository;
+
+import com.example.crudapp.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate"
+})
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void migrations_MatchEntityMappings() {
+        User saved = userRepository.saveAndFlush(new User(null, "John Doe", "john@example.com", 25));
+
+        assertNotNull(saved.getId());
+        assertTrue(userRepository.existsByEmail("john@example.com"));
+    }
+
+    @Test
+    void migrations_CreateExplicitIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME IN ('USERS', 'USER_CHANGES')",
+                String.class);
+
+        assertTrue(indexes.contains("IDX_USER_CHANGES_OCCURRED_AT"), "Indexes were: " + indexes);
+        assertTrue(indexes.stream().anyMatch(name -> name.startsWith("UK_USERS_EMAIL")), "Indexes were: " + indexes);
+    }
+}
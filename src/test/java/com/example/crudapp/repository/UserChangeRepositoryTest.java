@@ -0,0 +1,50 @@
+package com.example.crudapp.repository;
+
+import com.example.crudapp.entity.User;
+import com.example.crudapp.entity.UserChange;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class UserChangeRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserChangeRepository userChangeRepository;
+
+    @Test
+    void findChangesSince_ReturnsLaterChangesInSequenceOrder() {
+        User user = new User(1L, "John Doe", "john@example.com", 25);
+        UserChange created = entityManager.persistFlushFind(UserChange.of(UserChange.Type.CREATED, user));
+        UserChange updated = entityManager.persistFlushFind(UserChange.of(UserChange.Type.UPDATED, user));
+        UserChange deleted = entityManager.persistFlushFind(UserChange.deleted(1L));
+
+        List<UserChange> changes = userChangeRepository.findChangesSince(created.getSequence(), PageRequest.of(0, 10));
+
+        assertEquals(List.of(updated.getSequence(), deleted.getSequence()),
+                changes.stream().map(UserChange::getSequence).toList());
+    }
+
+    @Test
+    void deleteRecordedBefore_RemovesOnlyOlderChanges() {
+        UserChange old = UserChange.deleted(1L);
+        old.setOccurredAt(LocalDateTime.now().minusDays(10));
+        entityManager.persist(old);
+        entityManager.persistAndFlush(UserChange.deleted(2L));
+
+        int purged = userChangeRepository.deleteRecordedBefore(LocalDateTime.now().minusDays(7));
+
+        assertEquals(1, purged);
+        assertEquals(1, userChangeRepository.count());
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.crudapp.repository;
 
 import com.example.crudapp.entity.User;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -74,6 +78,18 @@ class UserRepositoryTest {
         assertEquals(25, savedUser.getAge());
     }
 
+    @Test
+    void save_DuplicateEmail_ViolatesNamedConstraint() {
+        entityManager.persistAndFlush(testUser);
+        User duplicate = new User(null, "Johnny Doe", "john@example.com", 26);
+
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(duplicate));
+
+        ConstraintViolationException cause = assertInstanceOf(ConstraintViolationException.class, ex.getCause());
+        assertTrue(cause.getConstraintName().toLowerCase().contains(User.EMAIL_CONSTRAINT), cause.getConstraintName());
+    }
+
     @Test
     void findById_UserExists_ReturnsUser() {
         User savedUser = entityManager.persistAndFlush(testUser);
@@ -95,4 +111,13 @@ class UserRepositoryTest {
         Optional<User> found = userRepository.findById(userId);
         assertFalse(found.isPresent());
     }
+
+    @Test
+    void findExistingEmails_ReturnsOnlyTakenEmails() {
+        entityManager.persistAndFlush(testUser);
+
+        Set<String> existing = userRepository.findExistingEmails(List.of("john@example.com", "jane@example.com"));
+
+        assertEquals(Set.of("john@example.com"), existing);
+    }
 }
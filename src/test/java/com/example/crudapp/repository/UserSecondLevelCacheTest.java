@@ -0,0 +1,88 @@
+package com.example.crudapp.repository;
+
+import com.example.crudapp.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findById_SecondLookup_HitsEntityCache() {
+        User saved = userRepository.save(new User(null, "Cache Hit", "cache-hit@example.com", 25));
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+
+        userRepository.findById(saved.getId());
+        userRepository.findById(saved.getId());
+
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void existsByEmail_RepeatedLookup_HitsQueryCache() {
+        userRepository.save(new User(null, "Query Cache", "query-cache@example.com", 25));
+        statistics.clear();
+
+        assertTrue(userRepository.existsByEmail("query-cache@example.com"));
+        assertTrue(userRepository.existsByEmail("query-cache@example.com"));
+
+        assertEquals(1, statistics.getQueryCacheMissCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void existsByEmail_AfterWrite_IsInvalidated() {
+        assertFalse(userRepository.existsByEmail("late-arrival@example.com"));
+
+        userRepository.save(new User(null, "Late Arrival", "late-arrival@example.com", 25));
+
+        assertTrue(userRepository.existsByEmail("late-arrival@example.com"));
+    }
+
+    @Test
+    void findByEmail_AfterUpdate_ReturnsFreshEntity() {
+        User saved = userRepository.save(new User(null, "Before Update", "update-me@example.com", 25));
+        assertEquals("Before Update", userRepository.findByEmail("update-me@example.com").orElseThrow().getName());
+
+        saved.setName("After Update");
+        userRepository.save(saved);
+
+        assertEquals("After Update", userRepository.findByEmail("update-me@example.com").orElseThrow().getName());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.crudapp.service;
+
+import com.example.crudapp.dto.UserChangeDto;
+import com.example.crudapp.dto.UserChangesDto;
+import com.example.crudapp.entity.User;
+import com.example.crudapp.entity.UserChange;
+import com.example.crudapp.mapper.UserMapperImpl;
+import com.example.crudapp.repository.UserChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserChangeServiceTest {
+
+    @Mock
+    private UserChangeRepository userChangeRepository;
+
+    private UserChangeService userChangeService;
+
+    @BeforeEach
+    void setUp() {
+        userChangeService = new UserChangeService(userChangeRepository, new UserMapperImpl(), Duration.ofDays(7),
+                Duration.ofSeconds(5));
+    }
+
+    @Test
+    void getChangesSince_MoreChangesThanLimit_ReturnsPageAndHasMore() {
+        when(userChangeRepository.findChangesSince(10L, PageRequest.of(0, 3))).thenReturn(changes(11, 3));
+
+        UserChangesDto result = userChangeService.getChangesSince(10L, 2);
+
+        assertEquals(2, result.changes().size());
+        assertEquals(12L, result.nextSince());
+        assertTrue(result.hasMore());
+    }
+
+    @Test
+    void getChangesSince_NoNewChanges_KeepsSince() {
+        when(userChangeRepository.findChangesSince(10L, PageRequest.of(0, 101))).thenReturn(List.of());
+
+        UserChangesDto result = userChangeService.getChangesSince(10L, 100);
+
+        assertTrue(result.changes().isEmpty());
+        assertEquals(10L, result.nextSince());
+        assertFalse(result.hasMore());
+    }
+
+    @Test
+    void getChangesSince_EarlierTransactionCommitsLate_IsNotSkipped() {
+        List<UserChange> committedFirst = changes(12, 1);
+        committedFirst.get(0).setOccurredAt(LocalDateTime.now());
+        when(userChangeRepository.findChangesSince(10L, PageRequest.of(0, 101))).thenReturn(committedFirst);
+
+        UserChangesDto beforeLateCommit = userChangeService.getChangesSince(10L, 100);
+
+        assertTrue(beforeLateCommit.changes().isEmpty());
+        assertEquals(10L, beforeLateCommit.nextSince());
+        assertFalse(beforeLateCommit.hasMore());
+
+        List<UserChange> afterLateCommit = changes(11, 2);
+        when(userChangeRepository.findChangesSince(10L, PageRequest.of(0, 101))).thenReturn(afterLateCommit);
+
+        UserChangesDto result = userChangeService.getChangesSince(10L, 100);
+
+        assertEquals(List.of(11L, 12L), result.changes().stream().map(UserChangeDto::sequence).toList());
+        assertEquals(12L, result.nextSince());
+    }
+
+    @Test
+    void getChangesSince_ChangeWithinCommitLag_HoldsBackLaterChanges() {
+        List<UserChange> page = changes(11, 3);
+        page.get(1).setOccurredAt(LocalDateTime.now());
+        when(userChangeRepository.findChangesSince(10L, PageRequest.of(0, 101))).thenReturn(page);
+
+        UserChangesDto result = userChangeService.getChangesSince(10L, 100);
+
+        assertEquals(1, result.changes().size());
+        assertEquals(11L, result.nextSince());
+        assertFalse(result.hasMore());
+    }
+
+    @Test
+    void getChangesSince_LimitAboveMaximum_IsCapped() {
+        when(userChangeRepository.findChangesSince(0L, PageRequest.of(0, UserChangeService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        userChangeService.getChangesSince(0L, 1_000_000);
+
+        verify(userChangeRepository).findChangesSince(0L, PageRequest.of(0, UserChangeService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getChangesSince_InvalidArguments_ThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> userChangeService.getChangesSince(-1L, 100));
+        assertThrows(IllegalArgumentException.class, () -> userChangeService.getChangesSince(0L, 0));
+        verify(userChangeRepository, never()).findChangesSince(anyLong(), any());
+    }
+
+    @Test
+    void purgeExpiredChanges_DeletesChangesOlderThanRetention() {
+        LocalDateTime before = LocalDateTime.now().minusDays(7);
+
+        userChangeService.purgeExpiredChanges();
+
+        verify(userChangeRepository).deleteRecordedBefore(argThat(cutoff -> !cutoff.isBefore(before)));
+    }
+
+    private static List<UserChange> changes(long firstSequence, int count) {
+        List<UserChange> changes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UserChange change = UserChange.of(UserChange.Type.CREATED, new User((long) i, "User " + i, "user" + i + "@example.com", 30));
+            change.setSequence(firstSequence + i);
+            change.setOccurredAt(LocalDateTime.now().minusMinutes(1));
+            changes.add(change);
+        }
+        return changes;
+    }
+}
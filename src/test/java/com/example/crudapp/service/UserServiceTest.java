@@ -1,14 +1,19 @@
 package com.example.crudapp.service;
 
+import com.example.crudapp.cache.UserCache;
+import com.example.crudapp.cache.UserNegativeCache;
 import com.example.crudapp.dto.UserDto;
 import com.example.crudapp.entity.User;
+import com.example.crudapp.entity.UserChange;
 import com.example.crudapp.exception.UserAlreadyExistsException;
 import com.example.crudapp.exception.UserNotFoundException;
 import com.example.crudapp.mapper.UserMapper;
+import com.example.crudapp.repository.UserChangeRepository;
 import com.example.crudapp.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -16,10 +21,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +38,15 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UserChangeRepository userChangeRepository;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private UserNegativeCache userNegativeCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -46,7 +62,7 @@ class UserServiceTest {
 
     @Test
     void createUser_Success() {
-        when(userRepository.existsByEmail(testUserDto.getEmail())).thenReturn(false);
+        when(userRepository.existsByEmail(testUserDto.email())).thenReturn(false);
         when(userMapper.toEntity(testUserDto)).thenReturn(testUser);
         when(userRepository.save(any(User.class))).thenReturn(testUser);
         when(userMapper.toDto(testUser)).thenReturn(testUserDto);
@@ -54,18 +70,68 @@ class UserServiceTest {
         UserDto result = userService.createUser(testUserDto);
 
         assertNotNull(result);
-        assertEquals(testUserDto.getEmail(), result.getEmail());
-        verify(userRepository).existsByEmail(testUserDto.getEmail());
+        assertEquals(testUserDto.email(), result.email());
+        verify(userRepository).existsByEmail(testUserDto.email());
+        verify(userRepository).save(any(User.class));
+        verify(userNegativeCache).recordEmailFalsePositive();
+        verifyChangeRecorded(UserChange.Type.CREATED, 1L);
+        verify(userNegativeCache).recordUser(1L, "john@example.com");
+    }
+
+    @Test
+    void createUser_EmailKnownFree_SkipsExistsCheck() {
+        when(userNegativeCache.isEmailFree(testUserDto.email())).thenReturn(true);
+        when(userMapper.toEntity(testUserDto)).thenReturn(testUser);
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userMapper.toDto(testUser)).thenReturn(testUserDto);
+
+        userService.createUser(testUserDto);
+
+        verify(userRepository, never()).existsByEmail(anyString());
         verify(userRepository).save(any(User.class));
     }
 
     @Test
     void createUser_EmailAlreadyExists_ThrowsException() {
-        when(userRepository.existsByEmail(testUserDto.getEmail())).thenReturn(true);
+        when(userRepository.existsByEmail(testUserDto.email())).thenReturn(true);
 
         assertThrows(UserAlreadyExistsException.class, () -> userService.createUser(testUserDto));
-        verify(userRepository).existsByEmail(testUserDto.getEmail());
+        verify(userRepository).existsByEmail(testUserDto.email());
         verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(userChangeRepository);
+    }
+
+    @Test
+    void createUsers_SkipsTakenAndRepeatedEmails() {
+        UserDto taken = new UserDto(null, "Jane Doe", "jane@example.com", 30);
+        UserDto repeated = new UserDto(null, "Johnny Doe", "john@example.com", 26);
+        when(userRepository.findExistingEmails(anyList())).thenReturn(Set.of("jane@example.com"));
+        when(userMapper.toEntity(testUserDto)).thenReturn(testUser);
+        when(userRepository.saveAll(List.of(testUser))).thenReturn(List.of(testUser));
+        when(userMapper.toDto(testUser)).thenReturn(testUserDto);
+
+        List<UserDto> result = userService.createUsers(List.of(testUserDto, taken, repeated));
+
+        assertEquals(Arrays.asList(testUserDto, null, null), result);
+        verify(userRepository).findExistingEmails(List.of("john@example.com", "jane@example.com", "john@example.com"));
+        verify(userMapper, never()).toEntity(taken);
+        verify(userMapper, never()).toEntity(repeated);
+        verify(userChangeRepository).saveAll(argThat(changes -> changes.iterator().next().getUserId() == 1L));
+    }
+
+    @Test
+    void createUsers_EmailsKnownFree_LeftOutOfExistingEmailsQuery() {
+        UserDto jane = new UserDto(null, "Jane Doe", "jane@example.com", 30);
+        when(userNegativeCache.isEmailFree("john@example.com")).thenReturn(true);
+        when(userRepository.findExistingEmails(List.of("jane@example.com"))).thenReturn(Set.of("jane@example.com"));
+        when(userMapper.toEntity(testUserDto)).thenReturn(testUser);
+        when(userRepository.saveAll(List.of(testUser))).thenReturn(List.of(testUser));
+        when(userMapper.toDto(testUser)).thenReturn(testUserDto);
+
+        List<UserDto> result = userService.createUsers(List.of(testUserDto, jane));
+
+        assertEquals(Arrays.asList(testUserDto, null), result);
+        verify(userNegativeCache).recordUser(1L, "john@example.com");
     }
 
     @Test
@@ -74,13 +140,13 @@ class UserServiceTest {
         List<UserDto> userDtos = Arrays.asList(testUserDto);
         
         when(userRepository.findAll()).thenReturn(users);
-        when(userMapper.toDto(testUser)).thenReturn(testUserDto);
+        when(userMapper.toDtos(users)).thenReturn(userDtos);
 
         List<UserDto> result = userService.getAllUsers();
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(testUserDto.getEmail(), result.get(0).getEmail());
+        assertEquals(testUserDto.email(), result.get(0).email());
         verify(userRepository).findAll();
     }
 
@@ -92,16 +158,39 @@ class UserServiceTest {
         UserDto result = userService.getUserById(1L);
 
         assertNotNull(result);
-        assertEquals(testUserDto.getEmail(), result.getEmail());
+        assertEquals(testUserDto.email(), result.email());
         verify(userRepository).findById(1L);
+        verify(userCache).put(testUserDto, 0L);
+        verify(userNegativeCache, never()).recordMissing(anyLong(), anyLong());
+    }
+
+    @Test
+    void getUserById_KnownMissing_SkipsRepository() {
+        when(userNegativeCache.isKnownMissing(1L)).thenReturn(true);
+
+        assertThrows(UserNotFoundException.class, () -> userService.getUserById(1L));
+        verifyNoInteractions(userRepository, userCache);
+    }
+
+    @Test
+    void getUserById_Cached_SkipsRepository() {
+        when(userCache.get(1L)).thenReturn(testUserDto);
+
+        UserDto result = userService.getUserById(1L);
+
+        assertSame(testUserDto, result);
+        verifyNoInteractions(userRepository, userMapper);
     }
 
     @Test
     void getUserById_UserNotFound_ThrowsException() {
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
+        when(userNegativeCache.stamp()).thenReturn(3L);
+
         assertThrows(UserNotFoundException.class, () -> userService.getUserById(1L));
         verify(userRepository).findById(1L);
+        verify(userNegativeCache).recordMissing(1L, 3L);
     }
 
     @Test
@@ -115,9 +204,38 @@ class UserServiceTest {
         UserDto result = userService.updateUser(1L, updateDto);
 
         assertNotNull(result);
-        assertEquals(updateDto.getName(), result.getName());
+        assertEquals(updateDto.name(), result.name());
         verify(userRepository).findById(1L);
         verify(userRepository).save(any(User.class));
+        verifyChangeRecorded(UserChange.Type.UPDATED, 1L);
+        verify(userCache).invalidate(1L);
+        verify(userNegativeCache, never()).recordUser(anyLong(), anyString());
+    }
+
+    @Test
+    void updateUser_EmailChanged_RecordsNewEmail() {
+        UserDto updateDto = new UserDto(1L, "John Doe", "johnny@example.com", 25);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userMapper.toDto(testUser)).thenReturn(updateDto);
+
+        userService.updateUser(1L, updateDto);
+
+        verify(userNegativeCache).recordUser(1L, "johnny@example.com");
+    }
+
+    @Test
+    void updateUser_NewEmailKnownFree_SkipsExistsCheck() {
+        UserDto updateDto = new UserDto(1L, "John Doe", "johnny@example.com", 25);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userNegativeCache.isEmailFree("johnny@example.com")).thenReturn(true);
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userMapper.toDto(testUser)).thenReturn(updateDto);
+
+        userService.updateUser(1L, updateDto);
+
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userNegativeCache, never()).recordEmailFalsePositive();
     }
 
     @Test
@@ -134,11 +252,11 @@ class UserServiceTest {
         UserDto updateDto = new UserDto(1L, "Jane Doe", "jane@example.com", 30);
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(userRepository.existsByEmail(updateDto.getEmail())).thenReturn(true);
+        when(userRepository.existsByEmail(updateDto.email())).thenReturn(true);
 
         assertThrows(UserAlreadyExistsException.class, () -> userService.updateUser(1L, updateDto));
         verify(userRepository).findById(1L);
-        verify(userRepository).existsByEmail(updateDto.getEmail());
+        verify(userRepository).existsByEmail(updateDto.email());
         verify(userRepository, never()).save(any(User.class));
     }
 
@@ -150,6 +268,8 @@ class UserServiceTest {
 
         verify(userRepository).existsById(1L);
         verify(userRepository).deleteById(1L);
+        verifyChangeRecorded(UserChange.Type.DELETED, 1L);
+        verify(userCache).invalidate(1L);
     }
 
     @Test
@@ -160,4 +280,11 @@ class UserServiceTest {
         verify(userRepository).existsById(1L);
         verify(userRepository, never()).deleteById(anyLong());
     }
+
+    private void verifyChangeRecorded(UserChange.Type type, Long userId) {
+        ArgumentCaptor<UserChange> change = ArgumentCaptor.forClass(UserChange.class);
+        verify(userChangeRepository).save(change.capture());
+        assertEquals(type, change.getValue().getType());
+        assertEquals(userId, change.getValue().getUserId());
+    }
 }
@@ -0,0 +1,225 @@
+package com.example.crudapp.service;
+
+import com.example.crudapp.dto.UserDto;
+import com.example.crudapp.dto.UserImportResultDto;
+import com.example.crudapp.exception.UserAlreadyExistsException;
+import com.example.crudapp.repository.UserRepository;
+import com.example.crudapp.validation.UserDtoValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserTransferServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void importUsers_Csv_CreatesValidRecordsInBatchesAndReportsTheRestByLine() throws IOException {
+        List<List<UserDto>> batches = captureBatches();
+        String csv = """
+                id,Name,Email,Age
+                7,Ada,ada@example.com,36
+                ,"Hopper, Grace","grace@example.com",85
+
+                ,Alan,not-an-email,41
+                ,Linus,linus@example.com,young
+                ,Taken,taken@example.com,30
+                ,"Unterminated,x@example.com,30
+                """;
+
+        UserImportResultDto result = service(2).importUsers(body(csv), UserTransferFormat.CSV);
+
+        assertEquals(6, result.records());
+        assertEquals(2, result.imported());
+        assertEquals(4, result.rejected());
+        assertFalse(result.errorsTruncated());
+        assertEquals(List.of(
+                new UserImportResultDto.LineError(5, "Email should be valid"),
+                new UserImportResultDto.LineError(6, "Age must be a whole number"),
+                new UserImportResultDto.LineError(8, "Unterminated quoted field"),
+                new UserImportResultDto.LineError(7, "User with email taken@example.com already exists")),
+                result.errors());
+        assertEquals(List.of(new UserDto(null, "Ada", "ada@example.com", 36),
+                new UserDto(null, "Hopper, Grace", "grace@example.com", 85)), batches.get(0));
+        assertEquals(List.of(new UserDto(null, "Taken", "taken@example.com", 30)), batches.get(1));
+    }
+
+    @Test
+    void importUsers_Ndjson_IgnoresIdsAndReportsMalformedLines() throws IOException {
+        List<List<UserDto>> batches = captureBatches();
+        String ndjson = """
+                {"id":7,"name":"Ada","email":"ada@example.com","age":36}
+                {"name":"Grace","email":"grace@example.com"
+                null
+                {"name":"","email":"alan@example.com","age":0}
+                """;
+
+        UserImportResultDto result = service(10).importUsers(body(ndjson), UserTransferFormat.NDJSON);
+
+        assertEquals(4, result.records());
+        assertEquals(1, result.imported());
+        assertEquals(2, result.errors().get(0).line());
+        assertTrue(result.errors().get(0).message().startsWith("Malformed JSON"));
+        assertEquals(new UserImportResultDto.LineError(3, "Expected a JSON object"), result.errors().get(1));
+        assertEquals(new UserImportResultDto.LineError(4, "Name is required; Age must be greater than 0"),
+                result.errors().get(2));
+        assertEquals(List.of(List.of(new UserDto(null, "Ada", "ada@example.com", 36))), batches);
+    }
+
+    @Test
+    void importUsers_CsvHeaderWithoutEmail_RejectedWith400() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> service(10).importUsers(body("name,age\nAda,36\n"), UserTransferFormat.CSV));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void importUsers_ManyErrors_ReportsFirstAndFlagsTruncation() throws IOException {
+        UserTransferService service = new UserTransferService(userService, userRepository, new UserDtoValidator(),
+                Jackson2ObjectMapperBuilder.json().build(), transactionManager, 2, 10, 2);
+
+        UserImportResultDto result = service.importUsers(body("name,email,age\na,b,1\nc,d,2\ne,f,3\n"),
+                UserTransferFormat.CSV);
+
+        assertEquals(3, result.rejected());
+        assertEquals(2, result.errors().size());
+        assertTrue(result.errorsTruncated());
+    }
+
+    @Test
+    void importUsers_BatchConflict_RetriesLineByLineAndRejectsOnlyTheConflict() throws IOException {
+        UserDto ada = new UserDto(null, "Ada", "ada@example.com", 36);
+        UserDto grace = new UserDto(null, "Grace", "grace@example.com", 85);
+        UserDto alan = new UserDto(null, "Alan", "alan@example.com", 41);
+        when(userService.createUsers(anyList())).thenThrow(new DataIntegrityViolationException("uk_users_email"));
+        when(userService.createUser(ada)).thenReturn(ada);
+        when(userService.createUser(grace)).thenThrow(new DataIntegrityViolationException("uk_users_email"));
+        when(userService.createUser(alan)).thenThrow(new UserAlreadyExistsException("exists"));
+
+        UserImportResultDto result = service(10).importUsers(body("""
+                name,email,age
+                Ada,ada@example.com,36
+                Grace,grace@example.com,85
+                Alan,alan@example.com,41
+                """), UserTransferFormat.CSV);
+
+        assertEquals(1, result.imported());
+        assertEquals(2, result.rejected());
+        assertEquals(List.of(
+                new UserImportResultDto.LineError(3, "User with email grace@example.com already exists"),
+                new UserImportResultDto.LineError(4, "User with email alan@example.com already exists")),
+                result.errors());
+    }
+
+    @Test
+    void importUsers_WhileAnotherTransferRuns_RejectedWith503() {
+        UserTransferService service = new UserTransferService(userService, userRepository, new UserDtoValidator(),
+                Jackson2ObjectMapperBuilder.json().build(), transactionManager, 1, 10, 10);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> service.exportUsers(UserTransferFormat.CSV,
+                        () -> {
+                            service.importUsers(body("name,email,age\n"), UserTransferFormat.CSV);
+                            return new ByteArrayOutputStream();
+                        }));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+    }
+
+    @Test
+    void exportUsers_Csv_WritesHeaderAndQuotesFieldsWhenNeeded() throws IOException {
+        when(userRepository.streamAllOrderedById()).thenReturn(Stream.of(
+                new UserDto(1L, "Ada", "ada@example.com", 36),
+                new UserDto(2L, "Hopper, \"Amazing\" Grace", "grace@example.com", 85)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = service(10).exportUsers(UserTransferFormat.CSV, () -> out);
+
+        assertEquals(2, exported);
+        assertEquals("""
+                id,name,email,age
+                1,Ada,ada@example.com,36
+                2,"Hopper, ""Amazing"" Grace",grace@example.com,85
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportUsers_Ndjson_WritesOneObjectPerLineThatImportsBack() throws IOException {
+        when(userRepository.streamAllOrderedById()).thenReturn(Stream.of(
+                new UserDto(1L, "Ada", "ada@example.com", 36),
+                new UserDto(2L, "Grace", "grace@example.com", 85)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service(10).exportUsers(UserTransferFormat.NDJSON, () -> out);
+
+        assertEquals("""
+                {"id":1,"name":"Ada","email":"ada@example.com","age":36}
+                {"id":2,"name":"Grace","email":"grace@example.com","age":85}
+                """, out.toString(StandardCharsets.UTF_8));
+        List<List<UserDto>> batches = captureBatches();
+        assertEquals(2, service(10).importUsers(new ByteArrayInputStream(out.toByteArray()),
+                UserTransferFormat.NDJSON).imported());
+        assertEquals(2, batches.get(0).size());
+    }
+
+    @Test
+    void parseCsvLine_QuotedFields() {
+        assertEquals(Arrays.asList("a", "b, c", "say \"hi\"", ""),
+                UserTransferService.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+        assertEquals("\"a,b\"", UserTransferService.formatCsvField("a,b"));
+        assertEquals("plain", UserTransferService.formatCsvField("plain"));
+    }
+
+    private UserTransferService service(int batchSize) {
+        return new UserTransferService(userService, userRepository, new UserDtoValidator(),
+                Jackson2ObjectMapperBuilder.json().build(), transactionManager, 2, batchSize, 100);
+    }
+
+    /**
+     * Copy each batch as it is passed, since the service reuses its batch list.
+     * Emails starting with "taken" are treated as already in use.
+     */
+    private List<List<UserDto>> captureBatches() {
+        List<List<UserDto>> batches = new ArrayList<>();
+        lenient().when(userService.createUsers(anyList())).thenAnswer(invocation -> {
+            List<UserDto> batch = invocation.getArgument(0);
+            batches.add(List.copyOf(batch));
+            return batch.stream().map(user -> user.email().startsWith("taken") ? null : user).toList();
+        });
+        return batches;
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
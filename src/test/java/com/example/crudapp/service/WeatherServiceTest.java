@@ -1,16 +1,43 @@
 package com.example.crudapp.service;
 
+import com.example.crudapp.cache.ForecastCache;
+import com.example.crudapp.cache.ForecastRefreshedEvent;
 import com.example.crudapp.dto.WeatherDto;
+import com.example.crudapp.exception.InvalidZipCodeException;
+import com.example.crudapp.tracing.SampledSpans;
+import io.micrometer.tracing.Tracer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class WeatherServiceTest {
 
+    @Spy
+    private ForecastCache forecastCache = new ForecastCache(Duration.ofMinutes(30), Duration.ofMinutes(1), 100, null, null, event -> { });
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private SampledSpans sampledSpans = new SampledSpans(new StaticListableBeanFactory().getBeanProvider(Tracer.class));
+
     @InjectMocks
     private WeatherService weatherService;
 
@@ -21,17 +48,17 @@ class WeatherServiceTest {
         WeatherDto result = weatherService.getSevenDayForecast(zipCode);
         
         assertNotNull(result);
-        assertEquals(zipCode, result.getZipCode());
-        assertNotNull(result.getLocation());
-        assertNotNull(result.getForecast());
-        assertEquals(7, result.getForecast().size());
+        assertEquals(zipCode, result.zipCode());
+        assertNotNull(result.location());
+        assertNotNull(result.forecast());
+        assertEquals(7, result.forecast().size());
         
-        result.getForecast().forEach(forecast -> {
-            assertNotNull(forecast.getDate());
-            assertNotNull(forecast.getDescription());
-            assertTrue(forecast.getTemperatureHigh() > forecast.getTemperatureLow());
-            assertTrue(forecast.getHumidity() >= 0 && forecast.getHumidity() <= 100);
-            assertTrue(forecast.getWindSpeed() >= 0);
+        result.forecast().forEach(forecast -> {
+            assertNotNull(forecast.date());
+            assertNotNull(forecast.description());
+            assertTrue(forecast.temperatureHigh() > forecast.temperatureLow());
+            assertTrue(forecast.humidity() >= 0 && forecast.humidity() <= 100);
+            assertTrue(forecast.windSpeed() >= 0);
         });
     }
 
@@ -42,8 +69,8 @@ class WeatherServiceTest {
         WeatherDto result = weatherService.getSevenDayForecast(zipCode);
         
         assertNotNull(result);
-        assertEquals(zipCode, result.getZipCode());
-        assertEquals(7, result.getForecast().size());
+        assertEquals(zipCode, result.zipCode());
+        assertEquals(7, result.forecast().size());
     }
 
     @Test
@@ -52,7 +79,7 @@ class WeatherServiceTest {
         
         WeatherDto result = weatherService.getSevenDayForecast(zipCode);
         
-        assertEquals("Beverly Hills, CA", result.getLocation());
+        assertEquals("Beverly Hills, CA", result.location());
     }
 
     @Test
@@ -96,6 +123,8 @@ class WeatherServiceTest {
             );
             
             assertEquals("Invalid zip code format. Expected format: 12345 or 12345-6789", exception.getMessage());
+            assertInstanceOf(InvalidZipCodeException.class, exception);
+            assertEquals(0, exception.getStackTrace().length);
         }
     }
 
@@ -105,7 +134,7 @@ class WeatherServiceTest {
         
         WeatherDto result = weatherService.getSevenDayForecast(zipCode);
         
-        assertEquals("Unknown Location, USA", result.getLocation());
+        assertEquals("Unknown Location, USA", result.location());
     }
 
     @Test
@@ -117,7 +146,40 @@ class WeatherServiceTest {
         
         assertNotNull(result1);
         assertNotNull(result2);
-        assertEquals(7, result1.getForecast().size());
-        assertEquals(7, result2.getForecast().size());
+        assertEquals(7, result1.forecast().size());
+        assertEquals(7, result2.forecast().size());
+    }
+
+    @Test
+    void getSevenDayForecast_CachedZipCode_ShouldReturnCachedForecast() {
+        String zipCode = "60601";
+
+        WeatherDto result1 = weatherService.getSevenDayForecast(zipCode);
+        WeatherDto result2 = weatherService.getSevenDayForecast(zipCode);
+
+        assertEquals(result1, result2);
+        assertEquals(1, forecastCache.size());
+        verify(eventPublisher, times(1)).publishEvent(any(ForecastRefreshedEvent.class));
+    }
+
+    @Test
+    void getSevenDayForecast_PaddedZipCode_SharesCacheEntry() {
+        WeatherDto padded = weatherService.getSevenDayForecast(" 10001 ");
+        WeatherDto plain = weatherService.getSevenDayForecast("10001");
+
+        assertEquals(padded, plain);
+        assertEquals("10001", plain.zipCode());
+        assertEquals(1, forecastCache.size());
+    }
+
+    @Test
+    void getSevenDayForecast_ProviderFails_CachesFallbackForShortTtl() {
+        lenient().doThrow(new RestClientException("provider down")).when(sampledSpans).startChild("weather.provider.call");
+
+        WeatherDto result = weatherService.getSevenDayForecast("98101");
+
+        assertEquals("Seattle, WA", result.location());
+        verify(forecastCache).putFallback(eq("98101"), any(WeatherDto.class));
+        verify(forecastCache, never()).put(eq("98101"), any(WeatherDto.class));
     }
 }
@@ -0,0 +1,98 @@
+package com.example.crudapp.stream;
+
+import com.example.crudapp.cache.CompactForecast;
+import com.example.crudapp.cache.ForecastRefreshedEvent;
+import com.example.crudapp.controller.WeatherController;
+import com.example.crudapp.dto.WeatherDto;
+import com.example.crudapp.service.WeatherService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(WeatherController.class)
+@Import(ForecastStreamBroker.class)
+class ForecastStreamBrokerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ForecastStreamBroker forecastStreamBroker;
+
+    @MockBean
+    private WeatherService weatherService;
+
+    @Test
+    void streamForecast_SendsCurrentForecastThenRefreshes() throws Exception {
+        when(weatherService.normalizeZipCode("10001")).thenReturn("10001");
+        when(weatherService.getCompactForecast("10001")).thenReturn(forecast("Sunny"));
+        int subscribersBefore = forecastStreamBroker.getSubscriberCount();
+
+        MvcResult result = mockMvc.perform(get("/api/weather/stream/{zipCode}", "10001")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        awaitContent(result, "\"description\":\"Sunny\"");
+        assertEquals(subscribersBefore + 1, forecastStreamBroker.getSubscriberCount());
+
+        forecastStreamBroker.onForecastRefreshed(new ForecastRefreshedEvent("10001", forecast("Snow")));
+        forecastStreamBroker.onForecastRefreshed(new ForecastRefreshedEvent("90210", forecast("Cloudy")));
+
+        String content = awaitContent(result, "\"description\":\"Snow\"");
+        assertTrue(content.startsWith("event:forecast\ndata:{\"location\":\"New York, NY\""));
+        assertFalse(content.contains("Cloudy"));
+    }
+
+    @Test
+    void sendHeartbeats_WritesCommentToSubscribers() throws Exception {
+        when(weatherService.normalizeZipCode("60601")).thenReturn("60601");
+        when(weatherService.getCompactForecast("60601")).thenReturn(forecast("Sunny"));
+        MvcResult result = mockMvc.perform(get("/api/weather/stream/{zipCode}", "60601"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        forecastStreamBroker.sendHeartbeats();
+
+        awaitContent(result, ":heartbeat\n");
+    }
+
+    @Test
+    void streamForecast_InvalidZipCode_ReturnsBadRequest() throws Exception {
+        when(weatherService.normalizeZipCode("bad")).thenThrow(new IllegalArgumentException("Invalid zip code format"));
+
+        mockMvc.perform(get("/api/weather/stream/{zipCode}", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), "Expected stream to contain " + expected + " but was: " + content);
+        return content;
+    }
+
+    private static CompactForecast forecast(String description) {
+        return CompactForecast.from(new WeatherDto("New York, NY", "10001", List.of(
+                new WeatherDto.DailyForecast(LocalDate.of(2024, 1, 1), description, 75.0, 60.0, 50, 10.0))));
+    }
+}
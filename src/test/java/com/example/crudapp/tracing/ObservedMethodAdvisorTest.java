@@ -0,0 +1,70 @@
+package com.example.crudapp.tracing;
+
+import io.micrometer.observation.annotation.Observed;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ObservedMethodAdvisorTest {
+
+    private final SampledSpans sampledSpans = mock(SampledSpans.class);
+    private final ObservedMethodAdvisor advisor = new ObservedMethodAdvisor(sampledSpans);
+
+    @Test
+    void matches_ObservedClass_MatchesPublicMethodsOnly() throws NoSuchMethodException {
+        assertTrue(advisor.matches(Greeter.class.getMethod("greet", String.class), Greeter.class));
+        assertFalse(advisor.matches(Greeter.class.getDeclaredMethod("helper"), Greeter.class));
+        assertFalse(advisor.matches(Object.class.getMethod("toString"), Greeter.class));
+        assertFalse(advisor.matches(Plain.class.getMethod("run"), Plain.class));
+        assertTrue(advisor.matches(Plain.class.getMethod("observedRun"), Plain.class));
+    }
+
+    @Test
+    void spanName_UsesContextualNameOrClassAndMethod() throws NoSuchMethodException {
+        assertEquals("Greeter#greet",
+                ObservedMethodAdvisor.spanName(Greeter.class.getMethod("greet", String.class), Greeter.class));
+        assertEquals("plain run",
+                ObservedMethodAdvisor.spanName(Plain.class.getMethod("observedRun"), Plain.class));
+    }
+
+    @Test
+    void invoke_ProxiedCall_ProceedsInNamedSpan() throws Throwable {
+        when(sampledSpans.proceedInSpan(eq("Greeter#greet"), any()))
+                .thenAnswer(answer -> answer.getArgument(1, MethodInvocation.class).proceed());
+        ProxyFactory proxyFactory = new ProxyFactory(new Greeter());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(advisor);
+        Greeter greeter = (Greeter) proxyFactory.getProxy();
+
+        assertEquals("Hello, Ada", greeter.greet("Ada"));
+
+        verify(sampledSpans).proceedInSpan(eq("Greeter#greet"), any());
+    }
+
+    @Observed
+    static class Greeter {
+
+        public String greet(String name) {
+            return helper() + name;
+        }
+
+        String helper() {
+            return "Hello, ";
+        }
+    }
+
+    static class Plain {
+
+        public void run() {
+        }
+
+        @Observed(contextualName = "plain run")
+        public void observedRun() {
+        }
+    }
+}
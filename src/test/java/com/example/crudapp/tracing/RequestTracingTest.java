@@ -0,0 +1,104 @@
+package com.example.crudapp.tracing;
+
+import com.example.crudapp.entity.User;
+import com.example.crudapp.repository.UserRepository;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.tracing.sampling.probability=1.0",
+        "profiling.jfr.enabled=false",
+        // Users are saved through the repository here, around the negative cache
+        "cache.negative.enabled=false"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+class RequestTracingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @BeforeEach
+    void setUp() {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        spanExporter.reset();
+    }
+
+    @Test
+    void getUser_ShouldTraceControllerServiceAndRepositoryInOneTrace() throws Exception {
+        User user = userRepository.save(new User(null, "Trace Me", "trace-" + System.nanoTime() + "@example.com", 30));
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        spanExporter.reset();
+
+        mockMvc.perform(get("/api/users/{id}", user.getId())).andExpect(status().isOk());
+
+        List<SpanData> spans = finishedSpans();
+        SpanData server = spans.stream().filter(span -> span.getName().startsWith("http get"))
+                .findFirst().orElseThrow();
+        List<SpanData> trace = spans.stream()
+                .filter(span -> span.getTraceId().equals(server.getTraceId()))
+                .toList();
+        SpanData controller = span(trace, "UserController#getUserById");
+        SpanData service = span(trace, "UserService#getUserById");
+        SpanData repository = span(trace, "UserRepository#findById");
+        assertEquals(server.getSpanId(), controller.getParentSpanId());
+        assertEquals(controller.getSpanId(), service.getParentSpanId());
+        assertEquals(service.getSpanId(), repository.getParentSpanId());
+    }
+
+    @Test
+    void getForecast_ShouldTraceCacheLookupAndProviderCall() throws Exception {
+        mockMvc.perform(get("/api/weather/forecast/{zipCode}", "98101")).andExpect(status().isOk());
+
+        Set<String> names = finishedSpans().stream().map(SpanData::getName).collect(Collectors.toSet());
+        assertTrue(names.contains("weather.cache.lookup"), names::toString);
+        assertTrue(names.contains("weather.provider.call"), names::toString);
+    }
+
+    private static SpanData span(List<SpanData> spans, String name) {
+        return spans.stream().filter(span -> span.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError(name + " not in " + spans.stream().map(SpanData::getName).toList()));
+    }
+
+    private List<SpanData> finishedSpans() {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        return spanExporter.getFinishedSpanItems();
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfiguration {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.crudapp.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SampledSpansTest {
+
+    private final Tracer tracer = mock(Tracer.class);
+    private final Span parent = mock(Span.class);
+    private final TraceContext parentContext = mock(TraceContext.class);
+    private final Span child = mock(Span.class);
+    private final Tracer.SpanInScope scope = mock(Tracer.SpanInScope.class);
+    private SampledSpans sampledSpans;
+
+    @BeforeEach
+    void setUp() {
+        when(parent.context()).thenReturn(parentContext);
+        when(tracer.nextSpan(parent)).thenReturn(child);
+        when(child.name(any())).thenReturn(child);
+        when(child.start()).thenReturn(child);
+        when(tracer.withSpan(child)).thenReturn(scope);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("tracer", tracer);
+        sampledSpans = new SampledSpans(beanFactory.getBeanProvider(Tracer.class));
+    }
+
+    @Test
+    void startChild_SampledParent_StartsNamedChild() {
+        when(tracer.currentSpan()).thenReturn(parent);
+        when(parentContext.sampled()).thenReturn(true);
+
+        assertSame(child, sampledSpans.startChild("weather.cache.lookup"));
+
+        verify(child).name("weather.cache.lookup");
+        verify(child).start();
+    }
+
+    @Test
+    void startChild_UnsampledParent_ReturnsNoopWithoutCreatingSpan() {
+        when(tracer.currentSpan()).thenReturn(parent);
+        when(parentContext.sampled()).thenReturn(false);
+
+        assertSame(Span.NOOP, sampledSpans.startChild("weather.cache.lookup"));
+
+        verify(tracer, never()).nextSpan(any(Span.class));
+    }
+
+    @Test
+    void startChild_NoCurrentSpanOrTracer_ReturnsNoop() {
+        assertSame(Span.NOOP, sampledSpans.startChild("weather.cache.lookup"));
+        assertSame(Span.NOOP, new SampledSpans(new StaticListableBeanFactory().getBeanProvider(Tracer.class))
+                .startChild("weather.cache.lookup"));
+    }
+
+    @Test
+    void proceedInSpan_SampledInvocationThrows_RecordsErrorAndEndsSpan() throws Throwable {
+        when(tracer.currentSpan()).thenReturn(parent);
+        when(parentContext.sampled()).thenReturn(true);
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        IllegalStateException failure = new IllegalStateException("boom");
+        when(invocation.proceed()).thenThrow(failure);
+
+        assertThrows(IllegalStateException.class, () -> sampledSpans.proceedInSpan("UserService#getUserById", invocation));
+
+        verify(child).error(failure);
+        verify(child).end();
+        verify(scope).close();
+    }
+
+    @Test
+    void proceedInSpan_Unsampled_ProceedsWithoutScope() throws Throwable {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.proceed()).thenReturn("result");
+
+        assertEquals("result", sampledSpans.proceedInSpan("UserService#getUserById", invocation));
+
+        verify(tracer, never()).withSpan(any());
+    }
+}
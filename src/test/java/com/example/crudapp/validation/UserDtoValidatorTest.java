@@ -0,0 +1,74 @@
+package com.example.crudapp.validation;
+
+import com.example.crudapp.dto.UserDto;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDtoValidatorTest {
+
+    private final UserDtoValidator validator = new UserDtoValidator();
+
+    @Test
+    void validate_ValidUser_ShouldHaveNoErrors() {
+        Errors errors = validate(new UserDto(null, "John Doe", "john@example.com", 25));
+
+        assertFalse(errors.hasErrors());
+    }
+
+    @Test
+    void validate_MissingFields_ShouldReportRequiredMessages() {
+        Errors errors = validate(new UserDto(null, "  ", null, null));
+
+        assertEquals(3, errors.getErrorCount());
+        assertEquals("Name is required", errors.getFieldError("name").getDefaultMessage());
+        assertEquals("Email is required", errors.getFieldError("email").getDefaultMessage());
+        assertEquals("Age is required", errors.getFieldError("age").getDefaultMessage());
+    }
+
+    @Test
+    void validate_InvalidValues_ShouldReportFormatMessages() {
+        Errors errors = validate(new UserDto(null, "John Doe", "invalid-email", 0));
+
+        assertEquals(2, errors.getErrorCount());
+        assertEquals("Email should be valid", errors.getFieldError("email").getDefaultMessage());
+        assertEquals("Age must be greater than 0", errors.getFieldError("age").getDefaultMessage());
+    }
+
+    @Test
+    void isValidEmail_ShouldAgreeWithEmailConstraint() {
+        List<String> emails = List.of("john@example.com", "John.Doe+tag@Example.COM", "a@localhost",
+                "\"john doe\"@example.com", "user@[192.168.0.1]", "user@[IPv6:2001:db8::1]", "jörg@bücher.de",
+                "o'brien@example.co.uk", "user@sub-domain.example.com", "invalid-email", "@example.com",
+                "john@", "john..doe@example.com", ".john@example.com", "john.@example.com", "john@example..com",
+                "john@-example.com", "john@example-.com", "john@example.com.", "john doe@example.com",
+                "john@exa mple.com", "a@b@example.com", "a".repeat(65) + "@example.com",
+                "a@" + "b".repeat(250) + ".com", "user@[300.1.1.1]", "user@[192.168.0]", "user@[2001:db8::1]", "a".repeat(40) + " @" + "b".repeat(40));
+
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            jakarta.validation.Validator beanValidator = factory.getValidator();
+            for (String email : emails) {
+                boolean expected = beanValidator.validateValue(UserDto.class, "email", email).isEmpty();
+                assertEquals(expected, UserDtoValidator.isValidEmail(email), email);
+            }
+        }
+    }
+
+    @Test
+    void supports_ShouldOnlySupportUserDto() {
+        assertTrue(validator.supports(UserDto.class));
+        assertFalse(validator.supports(String.class));
+    }
+
+    private Errors validate(UserDto userDto) {
+        Errors errors = new BeanPropertyBindingResult(userDto, "userDto");
+        validator.validate(userDto, errors);
+        return errors;
+    }
+}
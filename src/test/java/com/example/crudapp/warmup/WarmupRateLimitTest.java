@@ -0,0 +1,59 @@
+package com.example.crudapp.warmup;
+
+import com.example.crudapp.ratelimit.LocalRateLimitStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application with the warm-up and a rate limit far below the warm-up's request count, as the
+ * prod profile runs them together. The replayed requests must reach the handlers rather than get 429.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "warmup.enabled=true",
+        "warmup.iterations=10",
+        "warmup.zip-codes=",
+        "api.rate-limit.enabled=true",
+        "api.rate-limit.capacity=5",
+        "api.rate-limit.refill-per-second=0.1",
+        "profiling.jfr.enabled=false"
+})
+class WarmupRateLimitTest {
+
+    @Autowired
+    private LocalRateLimitStore rateLimitStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void warmup_WithRateLimitEnabled_ReplayedRequestsAreNotLimited() throws Exception {
+        assertEquals(0.0, meterRegistry.get("api.rate.limit.rejected").functionCounter().count());
+        assertEquals(0, rateLimitStore.size());
+
+        HttpClient client = HttpClient.newHttpClient();
+        int lastStatus = 0;
+        for (int i = 0; i < 6; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/changes"))
+                    .header("X-API-Key", "rotating-" + i)
+                    .GET()
+                    .build();
+            lastStatus = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+
+        // Without a configured key header, a client cannot escape its limit by changing keys
+        assertEquals(429, lastStatus);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.crudapp.warmup;
+
+import com.example.crudapp.entity.User;
+import com.example.crudapp.repository.UserRepository;
+import com.example.crudapp.service.WeatherService;
+import com.sun.net.httpserver.HttpServer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import javax.sql.DataSource;
+import java.net.InetSocketAddress;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WarmupRunnerTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final WeatherService weatherService = mock(WeatherService.class);
+    private final WarmupToken warmupToken = new WarmupToken();
+    private HttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void run_NoWebServer_FillsPoolAndPrimesForecasts() throws SQLException {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getMinimumIdle()).thenReturn(3);
+        when(dataSource.getMaximumPoolSize()).thenReturn(10);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        WarmupRunner runner = new WarmupRunner(dataSource, userRepository, transactionManager, weatherService,
+                new MockEnvironment(), warmupToken, List.of("10001", "90210"), 10, Duration.ofSeconds(5));
+
+        runner.run(new DefaultApplicationArguments());
+
+        verify(dataSource, times(3)).getConnection();
+        verify(connection, times(3)).close();
+        verify(weatherService).getCompactForecast("10001");
+        verify(weatherService).getCompactForecast("90210");
+        verify(userRepository, times(10)).saveAndFlush(any(User.class));
+        assertFalse(warmupToken.matches(tokenRequest(warmupToken.value())));
+    }
+
+    @Test
+    void rehearseInserts_EachInsertFlushedThenRolledBack() {
+        SimpleTransactionStatus status = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        WarmupRunner runner = new WarmupRunner(mock(DataSource.class), userRepository, transactionManager,
+                weatherService, new MockEnvironment(), warmupToken, List.of(), 5, Duration.ofSeconds(5));
+
+        assertEquals(5, runner.rehearseInserts(System.nanoTime() + Duration.ofSeconds(5).toNanos()));
+
+        verify(userRepository, times(5)).saveAndFlush(any(User.class));
+        verify(transactionManager, times(5)).commit(status);
+        assertTrue(status.isRollbackOnly());
+    }
+
+    @Test
+    void fillConnectionPool_ConnectionFails_ReleasesBorrowedAndPropagates() throws SQLException {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getMinimumIdle()).thenReturn(2);
+        when(dataSource.getMaximumPoolSize()).thenReturn(2);
+        when(dataSource.getConnection()).thenReturn(connection).thenThrow(new SQLException("timeout"));
+        WarmupRunner runner = new WarmupRunner(dataSource, userRepository, transactionManager, weatherService,
+                new MockEnvironment(), warmupToken, List.of(), 10, Duration.ofSeconds(5));
+
+        assertThrows(SQLException.class, runner::fillConnectionPool);
+        verify(connection).close();
+    }
+
+    @Test
+    void replayRequests_WithLocalServer_SendsReadOnlyRequestsPerIteration() throws Exception {
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        Set<String> tokens = ConcurrentHashMap.newKeySet();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            seen.add(exchange.getRequestMethod() + " " + exchange.getRequestURI());
+            tokens.add(String.valueOf(exchange.getRequestHeaders().getFirst(WarmupToken.HEADER)));
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("local.server.port", String.valueOf(server.getAddress().getPort()));
+        WarmupRunner runner = new WarmupRunner(mock(DataSource.class), userRepository, transactionManager,
+                weatherService, environment, warmupToken, List.of("10001"), 3, Duration.ofSeconds(5));
+
+        int sent = runner.replayRequests(System.nanoTime() + Duration.ofSeconds(5).toNanos());
+
+        assertEquals(12, sent);
+        assertEquals(Set.of("GET /api/users/1", "GET /api/users/changes?limit=1",
+                "POST /api/users", "GET /api/weather/forecast/10001"), seen);
+        assertEquals(Set.of(warmupToken.value()), tokens);
+    }
+
+    @Test
+    void warmupToken_MatchesOnlyItsOwnValue() {
+        WarmupToken other = new WarmupToken();
+
+        assertTrue(warmupToken.matches(tokenRequest(warmupToken.value())));
+        assertFalse(warmupToken.matches(tokenRequest(other.value())));
+        assertFalse(warmupToken.matches(new MockHttpServletRequest()));
+    }
+
+    @Test
+    void replayRequests_DeadlinePassed_SendsNothing() {
+        MockEnvironment environment = new MockEnvironment().withProperty("local.server.port", "1");
+        WarmupRunner runner = new WarmupRunner(mock(DataSource.class), userRepository, transactionManager,
+                weatherService, environment, warmupToken, List.of(), 3, Duration.ofSeconds(5));
+
+        assertEquals(0, runner.replayRequests(System.nanoTime() - 1));
+    }
+
+    private static MockHttpServletRequest tokenRequest(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.addHeader(WarmupToken.HEADER, token);
+        return request;
+    }
+}
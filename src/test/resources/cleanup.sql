@@ -1 +1,2 @@
 DELETE FROM users;
+DELETE FROM user_changes;